@@ -0,0 +1,42 @@
+#!/bin/sh
+# Fast-startup build and launch: Spring AOT bean definitions + an AppCDS archive + the
+# prod (lazy initialization) profile.
+#
+#   ./fast-start.sh build   package with -Paot, extract the jar, record the CDS archive
+#   ./fast-start.sh run     start the app from target/fast-start with the archive
+#
+# The training run in "build" refreshes the application context and exits, so MySQL
+# and MongoDB from application.properties (or SPRING_DATASOURCE_URL /
+# SPRING_DATA_MONGODB_URI) must be reachable while it runs.
+set -e
+
+cd "$(dirname "$0")"
+APP_DIR=target/fast-start
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+PROFILES="${SPRING_PROFILES_ACTIVE:-prod}"
+
+app_jar() {
+    ls "$APP_DIR"/*-exec.jar
+}
+
+case "$1" in
+    build)
+        sh ./mvnw -B -Paot -Daot.profiles="$PROFILES" -DskipTests package
+        rm -rf "$APP_DIR"
+        # The extracted layout (jar + lib/) keeps class paths stable, which CDS requires
+        "$JAVA" -Djarmode=tools -jar target/*-exec.jar extract --destination "$APP_DIR"
+        "$JAVA" -XX:ArchiveClassesAtExit="$APP_DIR/app.jsa" \
+            -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh \
+            -jar "$(app_jar)" --spring.profiles.active="$PROFILES"
+        ;;
+    run)
+        shift
+        exec "$JAVA" -XX:SharedArchiveFile="$APP_DIR/app.jsa" -Xshare:auto \
+            -Dspring.aot.enabled=true \
+            -jar "$(app_jar)" --spring.profiles.active="$PROFILES" "$@"
+        ;;
+    *)
+        echo "usage: $0 build|run [app args...]" >&2
+        exit 2
+        ;;
+esac
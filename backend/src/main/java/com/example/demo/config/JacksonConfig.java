@@ -0,0 +1,20 @@
+package com.example.demo.config;
+
+import com.example.demo.util.FieldSelection;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    // Entities carry @JsonFilter for sparse fieldsets; responses without a fields= selection
+    // (and any other serialization of them) fall back to writing every property
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer fieldSelectionFilter() {
+        return builder -> builder.filters(new SimpleFilterProvider()
+                .addFilter(FieldSelection.FILTER_ID, SimpleBeanPropertyFilter.serializeAll()));
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.demo.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.data.DefaultRepositoryTagsProvider;
+import org.springframework.boot.actuate.metrics.data.RepositoryTagsProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+@Configuration
+public class MetricsConfig {
+
+    // Enables @Timed on the service classes
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    // Adds a "store" tag to spring.data.repository.invocations so Mongo and JPA latency can be split
+    @Bean
+    public RepositoryTagsProvider repositoryTagsProvider() {
+        DefaultRepositoryTagsProvider defaults = new DefaultRepositoryTagsProvider();
+        return invocation -> Tags.of(defaults.repositoryTags(invocation))
+                .and("store", MongoRepository.class.isAssignableFrom(invocation.getRepositoryInterface()) ? "mongo" : "jpa");
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.demo.config;
+
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MongoConfig {
+
+    // Registers the slow query listener on both the blocking and reactive clients
+    @Bean
+    public MongoClientSettingsBuilderCustomizer slowQueryListenerCustomizer(MongoSlowQueryReporter reporter) {
+        return builder -> builder.addCommandListener(reporter);
+    }
+}
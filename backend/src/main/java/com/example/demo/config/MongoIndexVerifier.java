@@ -0,0 +1,171 @@
+package com.example.demo.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// Creates the indexes declared on @Document classes when they are missing and checks
+// that every Mongo finder, derived or @Query, has an index whose leading keys match the
+// equality fields of its filter.
+// Runs in the background after startup so a slow index build never delays readiness.
+@Component
+public class MongoIndexVerifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoIndexVerifier.class);
+    // ?0 and SpEL parameters; the value does not matter, only which keys the filter has
+    private static final Pattern PARAMETER = Pattern.compile("\\?\\d+|[?:]#\\{[^}]*}");
+
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationContext applicationContext;
+    private final TaskExecutor taskExecutor;
+    private final boolean failOnMissing;
+
+    public MongoIndexVerifier(MongoTemplate mongoTemplate, ApplicationContext applicationContext,
+                              @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                              @Value("${skillhive.mongo.indexes.fail-on-missing:true}") boolean failOnMissing) {
+        this.mongoTemplate = mongoTemplate;
+        this.applicationContext = applicationContext;
+        this.taskExecutor = taskExecutor;
+        this.failOnMissing = failOnMissing;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyOnStartup() {
+        List<String> uncovered = verifyFinderCoverage();
+        if (!uncovered.isEmpty() && failOnMissing) {
+            throw new IllegalStateException("Mongo finders without a supporting index: " + uncovered);
+        }
+        taskExecutor.execute(this::ensureDeclaredIndexes);
+    }
+
+    public void ensureDeclaredIndexes() {
+        IndexResolver resolver = IndexResolver.create(mappingContext());
+        for (MongoPersistentEntity<?> entity : mappingContext().getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(Document.class)) {
+                continue;
+            }
+            IndexOperations indexOps = mongoTemplate.indexOps(entity.getType());
+            Set<String> existing = indexOps.getIndexInfo().stream()
+                    .map(IndexInfo::getName)
+                    .collect(Collectors.toSet());
+            for (IndexDefinition definition : resolver.resolveIndexFor(entity.getTypeInformation())) {
+                String name = definition.getIndexOptions().getString("name");
+                if (name != null && existing.contains(name)) {
+                    continue;
+                }
+                try {
+                    String created = indexOps.ensureIndex(definition);
+                    logger.info("Created index {} {} on {}", created, definition.getIndexKeys().toJson(), entity.getCollection());
+                } catch (RuntimeException e) {
+                    logger.error("Failed to create index {} on {}: {}", name, entity.getCollection(), e.getMessage(), e);
+                }
+            }
+        }
+        logger.info("Mongo index verification finished");
+    }
+
+    // Returns "Repository.method" for every finder without a matching index
+    public List<String> verifyFinderCoverage() {
+        IndexResolver resolver = IndexResolver.create(mappingContext());
+        Repositories repositories = new Repositories(applicationContext);
+        List<String> uncovered = new ArrayList<>();
+        for (Class<?> domainType : repositories) {
+            MongoPersistentEntity<?> entity = mappingContext().getPersistentEntity(domainType);
+            if (entity == null || !entity.isAnnotationPresent(Document.class)) {
+                continue;
+            }
+            List<List<String>> indexKeys = new ArrayList<>();
+            for (IndexDefinition definition : resolver.resolveIndexFor(entity.getTypeInformation())) {
+                indexKeys.add(new ArrayList<>(definition.getIndexKeys().keySet()));
+            }
+            RepositoryInformation information = repositories.getRequiredRepositoryInformation(domainType);
+            for (Method method : information.getQueryMethods()) {
+                Query query = method.getAnnotation(Query.class);
+                Set<String> fields = new LinkedHashSet<>();
+                if (query != null) {
+                    if (query.value().isEmpty()) {
+                        continue;
+                    }
+                    collectEqualityFields(org.bson.Document.parse(PARAMETER.matcher(query.value()).replaceAll("null")),
+                            fields);
+                } else {
+                    for (Part part : new PartTree(method.getName(), domainType).getParts()) {
+                        fields.add(part.getProperty().toDotPath());
+                    }
+                }
+                if (fields.isEmpty() || fields.contains("id") || isCovered(fields, indexKeys)) {
+                    continue;
+                }
+                String finder = information.getRepositoryInterface().getSimpleName() + "." + method.getName();
+                logger.error("Mongo finder {} filters on {} but no declared index starts with those fields", finder, fields);
+                uncovered.add(finder);
+            }
+        }
+        return uncovered;
+    }
+
+    // Keys compared by value or with $eq / $in, including inside a top-level $and. Range and
+    // negation operators such as $ne cannot lead an index usefully, so they are left out.
+    private static void collectEqualityFields(org.bson.Document filter, Set<String> fields) {
+        for (Map.Entry<String, Object> entry : filter.entrySet()) {
+            String key = entry.getKey();
+            Object value = entry.getValue();
+            if ("$and".equals(key) && value instanceof List<?> clauses) {
+                for (Object clause : clauses) {
+                    if (clause instanceof org.bson.Document document) {
+                        collectEqualityFields(document, fields);
+                    }
+                }
+            } else if (key.startsWith("$")) {
+                continue;
+            } else if (!(value instanceof org.bson.Document operators)
+                    || operators.containsKey("$eq") || operators.containsKey("$in")) {
+                fields.add("_id".equals(key) ? "id" : key);
+            }
+        }
+    }
+
+    // A finder is covered when some index's leading keys are exactly its equality fields
+    private static boolean isCovered(Set<String> fields, List<List<String>> indexKeys) {
+        for (List<String> keys : indexKeys) {
+            if (keys.size() >= fields.size() && Set.copyOf(keys.subList(0, fields.size())).equals(fields)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext() {
+        return (MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty>) mongoTemplate.getConverter().getMappingContext();
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.demo.config;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Logs the shape of Mongo reads that take longer than the configured threshold and,
+// at most once per interval, asks the server for the plan so collection scans show up
+// in the logs instead of only as latency.
+@Component
+public class MongoSlowQueryReporter implements CommandListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoSlowQueryReporter.class);
+
+    private static final Set<String> TRACKED_COMMANDS = Set.of("find", "aggregate", "count");
+    private static final Set<String> SESSION_FIELDS = Set.of("lsid", "txnNumber");
+    private static final int MAX_IN_FLIGHT = 10_000;
+    private static final long EXPLAIN_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final ObjectProvider<MongoClient> mongoClient;
+    private final long thresholdNanos;
+    private final Map<Integer, StartedCommand> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong lastExplain = new AtomicLong(System.nanoTime() - EXPLAIN_INTERVAL_NANOS);
+    private final ExecutorService explainExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "mongo-explain");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public MongoSlowQueryReporter(ObjectProvider<MongoClient> mongoClient,
+                                  @Value("${skillhive.mongo.slow-query-threshold-ms:100}") long thresholdMillis) {
+        this.mongoClient = mongoClient;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (!TRACKED_COMMANDS.contains(event.getCommandName()) || inFlight.size() >= MAX_IN_FLIGHT) {
+            return;
+        }
+        // The driver reuses the command buffer once the event returns, so keep a copy
+        inFlight.put(event.getRequestId(),
+                new StartedCommand(event.getDatabaseName(), event.getCommand().clone()));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        StartedCommand started = inFlight.remove(event.getRequestId());
+        if (started == null || event.getElapsedTime(TimeUnit.NANOSECONDS) < thresholdNanos) {
+            return;
+        }
+        long elapsedMillis = event.getElapsedTime(TimeUnit.MILLISECONDS);
+        logger.warn("Slow Mongo {} on {}.{} took {} ms: {}", event.getCommandName(), started.database(),
+                started.command().get(event.getCommandName()), elapsedMillis, shape(started.command()).toJson());
+        scheduleExplain(started);
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        inFlight.remove(event.getRequestId());
+    }
+
+    private void scheduleExplain(StartedCommand started) {
+        long last = lastExplain.get();
+        long now = System.nanoTime();
+        if (now - last < EXPLAIN_INTERVAL_NANOS || !lastExplain.compareAndSet(last, now)) {
+            return;
+        }
+        explainExecutor.execute(() -> explain(started));
+    }
+
+    private void explain(StartedCommand started) {
+        MongoClient client = mongoClient.getIfAvailable();
+        if (client == null) {
+            return;
+        }
+        BsonDocument command = new BsonDocument();
+        started.command().forEach((key, value) -> {
+            if (!key.startsWith("$") && !SESSION_FIELDS.contains(key)) {
+                command.put(key, value);
+            }
+        });
+        try {
+            Document result = client.getDatabase(started.database())
+                    .runCommand(new Document("explain", command).append("verbosity", "queryPlanner"));
+            String plan = result.toJson();
+            if (plan.contains("\"COLLSCAN\"")) {
+                logger.warn("Slow Mongo query is a collection scan, add an index: {}", shape(started.command()).toJson());
+            } else {
+                logger.debug("Query plan for slow Mongo query: {}", plan);
+            }
+        } catch (RuntimeException e) {
+            logger.debug("Explain for slow Mongo query failed: {}", e.getMessage());
+        }
+    }
+
+    // Replaces literal values with "?" so logs show the query shape without user data
+    static BsonDocument shape(BsonDocument command) {
+        BsonDocument shaped = new BsonDocument();
+        command.forEach((key, value) -> {
+            if (key.startsWith("$") || SESSION_FIELDS.contains(key)) {
+                return;
+            }
+            if (key.equals("filter") || key.equals("query") || key.equals("pipeline")) {
+                shaped.put(key, redact(value));
+            } else {
+                shaped.put(key, value);
+            }
+        });
+        return shaped;
+    }
+
+    private static BsonValue redact(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument redacted = new BsonDocument();
+            value.asDocument().forEach((key, nested) -> redacted.put(key, redact(nested)));
+            return redacted;
+        }
+        if (value.isArray()) {
+            BsonArray redacted = new BsonArray();
+            value.asArray().forEach(nested -> redacted.add(redact(nested)));
+            return redacted;
+        }
+        return new BsonString("?");
+    }
+
+    private record StartedCommand(String database, BsonDocument command) {
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.demo.config;
+
+import com.example.demo.model.Post;
+import com.example.demo.service.TagService;
+import com.example.demo.util.TextTokenizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Posts written before hashtag extraction have no hashtags field. Tokenize them in the
+// background after startup and add their tags to the counts; no mention notifications
+// are sent for old posts. The update is conditional on the field still being missing,
+// so an edit in between or a second instance does not count a post twice.
+@Component
+public class PostTagBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostTagBackfill.class);
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final TagService tagService;
+    private final TaskExecutor taskExecutor;
+
+    public PostTagBackfill(MongoTemplate mongoTemplate, TagService tagService,
+                           @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor) {
+        this.mongoTemplate = mongoTemplate;
+        this.tagService = tagService;
+        this.taskExecutor = taskExecutor;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        taskExecutor.execute(this::backfill);
+    }
+
+    public void backfill() {
+        long tagged = 0;
+        try {
+            while (true) {
+                // Tombstones are skipped: their tags must not be counted, and PostCleanupJob removes them
+                Query untagged = Query.query(Criteria.where("hashtags").exists(false).and("deleted").ne(true))
+                        .limit(BATCH_SIZE);
+                untagged.fields().include("id", "text");
+                List<Post> posts = mongoTemplate.find(untagged, Post.class);
+                if (posts.isEmpty()) {
+                    break;
+                }
+                for (Post post : posts) {
+                    TextTokenizer.Tokens tokens = TextTokenizer.tokenize(post.getText());
+                    List<String> hashtags = new ArrayList<>(tokens.hashtags());
+                    Update update = new Update()
+                            .set("hashtags", hashtags)
+                            .set("mentions", new ArrayList<>(tokens.mentions()));
+                    Query stillUntagged = Query.query(Criteria.where("id").is(post.getId())
+                            .and("hashtags").exists(false).and("deleted").ne(true));
+                    if (mongoTemplate.updateFirst(stillUntagged, update, Post.class).getModifiedCount() == 1) {
+                        tagService.backfilled(hashtags);
+                        tagged++;
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Hashtag backfill stopped after {} posts: {}", tagged, e.getMessage());
+            return;
+        }
+        if (tagged > 0) {
+            logger.info("Extracted hashtags and mentions for {} existing posts", tagged);
+        }
+    }
+}
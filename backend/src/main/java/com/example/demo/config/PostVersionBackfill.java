@@ -0,0 +1,37 @@
+package com.example.demo.config;
+
+import com.example.demo.model.Post;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+// Posts written before Post.version existed have no version field, and Spring Data
+// would treat such a document as new on save. Give them version 0 once the context is
+// up but before the web server accepts requests.
+@Component
+public class PostVersionBackfill implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostVersionBackfill.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    public PostVersionBackfill(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long updated = mongoTemplate.updateMulti(
+                Query.query(Criteria.where("version").exists(false)),
+                new Update().set("version", 0L),
+                Post.class).getModifiedCount();
+        if (updated > 0) {
+            logger.info("Initialized version on {} existing posts", updated);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.demo.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Sends @Transactional(readOnly = true) work to the replica and everything else to the
+// primary. Must sit behind a LazyConnectionDataSourceProxy: the read-only flag is only
+// bound after the transaction manager has asked for a connection.
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !ReadYourWritesInterceptor.isPrimaryPinned()) {
+            return Route.REPLICA;
+        }
+        return Route.PRIMARY;
+    }
+}
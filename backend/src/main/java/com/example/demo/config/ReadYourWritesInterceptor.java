@@ -0,0 +1,100 @@
+package com.example.demo.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Decides per request whether reads may go to a replica. Mutating requests always use the
+// primary (their read-modify-write must not see stale data), and a client that mutated
+// within the last skillhive.replicas.read-your-writes-ms keeps reading from the primary
+// until the replicas have had time to catch up.
+//
+// The pin is a ThreadLocal on the request thread. Work handed to other threads (async
+// handlers, reactive streams, StreamingResponseBody, @Async methods) does not see it and
+// may read from a replica; reads that must see the client's own writes stay on the request thread.
+@Component
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private final long windowNanos;
+
+    public ReadYourWritesInterceptor(@Value("${skillhive.replicas.read-your-writes-ms:5000}") long windowMillis) {
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    }
+
+    // True when the current thread must read from the primary
+    public static boolean isPrimaryPinned() {
+        return Boolean.TRUE.equals(PRIMARY_PINNED.get());
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!SAFE_METHODS.contains(request.getMethod())) {
+            PRIMARY_PINNED.set(Boolean.TRUE);
+            return true;
+        }
+        // A client that wrote before logging in (the login itself, for one) is still known
+        // by its address, so authenticated requests check both keys
+        String userKey = userKey();
+        if (recentlyWrote(addressKey(request)) || (userKey != null && recentlyWrote(userKey))) {
+            PRIMARY_PINNED.set(Boolean.TRUE);
+        }
+        return true;
+    }
+
+    // For writes made on behalf of a user before the request is authenticated, such as
+    // storing the refresh token at login: that user's next requests read from the primary
+    public void recordWrite(String username) {
+        lastWrites.put("user:" + username, System.nanoTime());
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        PRIMARY_PINNED.remove();
+        if (!SAFE_METHODS.contains(request.getMethod()) && ex == null && response.getStatus() < 400) {
+            String userKey = userKey();
+            lastWrites.put(userKey != null ? userKey : addressKey(request), System.nanoTime());
+        }
+    }
+
+    // Forget clients whose window has passed
+    @Scheduled(fixedDelay = 60000)
+    public void evictExpired() {
+        long now = System.nanoTime();
+        lastWrites.values().removeIf(lastWrite -> now - lastWrite >= windowNanos);
+    }
+
+    private boolean recentlyWrote(String key) {
+        Long lastWrite = lastWrites.get(key);
+        return lastWrite != null && System.nanoTime() - lastWrite < windowNanos;
+    }
+
+    // The authenticated user, or null for anonymous requests
+    private static String userKey() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return null;
+    }
+
+    // Anonymous endpoints such as the quiz APIs are keyed by the client address
+    private static String addressKey(HttpServletRequest request) {
+        return "addr:" + request.getRemoteAddr();
+    }
+}
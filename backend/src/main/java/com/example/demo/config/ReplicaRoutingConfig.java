@@ -0,0 +1,97 @@
+package com.example.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.Set;
+
+// Read/write splitting. Mongo reads on the listed collections prefer secondaries (a
+// no-op against a standalone server); the JDBC replica is only wired in when
+// skillhive.datasource.replica.url is set, otherwise Boot's single pool is used.
+@Configuration
+public class ReplicaRoutingConfig implements WebMvcConfigurer {
+
+    private final ReadYourWritesInterceptor readYourWritesInterceptor;
+
+    public ReplicaRoutingConfig(ReadYourWritesInterceptor readYourWritesInterceptor) {
+        this.readYourWritesInterceptor = readYourWritesInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(readYourWritesInterceptor);
+    }
+
+    @Bean
+    public MongoTemplate mongoTemplate(MongoDatabaseFactory mongoDatabaseFactory, MongoConverter mongoConverter,
+                                       @Value("${skillhive.replicas.mongo-collections:}") Set<String> collections) {
+        return new SecondaryReadMongoTemplate(mongoDatabaseFactory, mongoConverter, collections);
+    }
+
+    @Bean
+    public ReactiveMongoTemplate reactiveMongoTemplate(ReactiveMongoDatabaseFactory mongoDatabaseFactory,
+                                                       MongoConverter mongoConverter,
+                                                       @Value("${skillhive.replicas.mongo-collections:}") Set<String> collections) {
+        return new SecondaryReadReactiveMongoTemplate(mongoDatabaseFactory, mongoConverter, collections);
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "skillhive.datasource.replica.url")
+    static class JdbcReplicaConfig {
+
+        @Bean
+        @ConfigurationProperties("spring.datasource.hikari")
+        public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+            HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            dataSource.setPoolName("primary");
+            return dataSource;
+        }
+
+        @Bean
+        @ConfigurationProperties("skillhive.datasource.replica.hikari")
+        public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                                  @Value("${skillhive.datasource.replica.url}") String url,
+                                                  @Value("${skillhive.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                                  @Value("${skillhive.datasource.replica.password:${spring.datasource.password:}}") String password) {
+            HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(url)
+                    .username(username)
+                    .password(password)
+                    .build();
+            dataSource.setPoolName("replica");
+            dataSource.setReadOnly(true);
+            return dataSource;
+        }
+
+        @Bean
+        @Primary
+        public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                     @Qualifier("replicaDataSource") DataSource replica) {
+            ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource();
+            routing.setTargetDataSources(Map.of(
+                    ReadWriteRoutingDataSource.Route.PRIMARY, primary,
+                    ReadWriteRoutingDataSource.Route.REPLICA, replica));
+            routing.setDefaultTargetDataSource(primary);
+            routing.afterPropertiesSet();
+            return new LazyConnectionDataSourceProxy(routing);
+        }
+    }
+}
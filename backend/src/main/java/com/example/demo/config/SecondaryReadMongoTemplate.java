@@ -0,0 +1,34 @@
+package com.example.demo.config;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import java.util.Set;
+
+// MongoTemplate that reads the given collections with secondaryPreferred unless the
+// request is pinned to the primary by ReadYourWritesInterceptor. Writes ignore the
+// read preference, so they still go to the primary.
+public class SecondaryReadMongoTemplate extends MongoTemplate {
+
+    private final Set<String> secondaryCollections;
+
+    public SecondaryReadMongoTemplate(MongoDatabaseFactory mongoDbFactory, MongoConverter mongoConverter,
+                                      Set<String> secondaryCollections) {
+        super(mongoDbFactory, mongoConverter);
+        this.secondaryCollections = secondaryCollections;
+    }
+
+    @Override
+    protected MongoCollection<Document> prepareCollection(MongoCollection<Document> collection) {
+        MongoCollection<Document> prepared = super.prepareCollection(collection);
+        if (secondaryCollections.contains(collection.getNamespace().getCollectionName())
+                && !ReadYourWritesInterceptor.isPrimaryPinned()) {
+            return prepared.withReadPreference(ReadPreference.secondaryPreferred());
+        }
+        return prepared;
+    }
+}
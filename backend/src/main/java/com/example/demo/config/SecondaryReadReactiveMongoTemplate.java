@@ -0,0 +1,32 @@
+package com.example.demo.config;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import org.bson.Document;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import java.util.Set;
+
+// Reactive counterpart of SecondaryReadMongoTemplate, used by the streaming feed
+public class SecondaryReadReactiveMongoTemplate extends ReactiveMongoTemplate {
+
+    private final Set<String> secondaryCollections;
+
+    public SecondaryReadReactiveMongoTemplate(ReactiveMongoDatabaseFactory mongoDatabaseFactory,
+                                              MongoConverter mongoConverter, Set<String> secondaryCollections) {
+        super(mongoDatabaseFactory, mongoConverter);
+        this.secondaryCollections = secondaryCollections;
+    }
+
+    @Override
+    protected MongoCollection<Document> prepareCollection(MongoCollection<Document> collection) {
+        MongoCollection<Document> prepared = super.prepareCollection(collection);
+        if (secondaryCollections.contains(collection.getNamespace().getCollectionName())
+                && !ReadYourWritesInterceptor.isPrimaryPinned()) {
+            return prepared.withReadPreference(ReadPreference.secondaryPreferred());
+        }
+        return prepared;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.demo.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StartupConfig {
+
+    // Beans that stay eager when spring.main.lazy-initialization is on: the pinning
+    // monitor only works if it is running before the first request, the post version
+    // backfill must finish before the first write, and building the
+    // EntityManagerFactory during startup (in the background, see application-prod)
+    // keeps Hibernate's boot cost off the first quiz or auth request.
+    @Bean
+    public static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(VirtualThreadPinningMonitor.class,
+                PostVersionBackfill.class, EntityManagerFactory.class);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.demo.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+// In virtual-thread mode, reports virtual threads that stay pinned to their carrier
+// (typically blocking I/O inside a synchronized block) so the hot spot can be fixed.
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final int MAX_FRAMES = 12;
+
+    private final Counter pinnedCounter;
+    private final Duration threshold;
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${skillhive.vthreads.pinning-threshold-ms:20}") long thresholdMillis) {
+        this.pinnedCounter = Counter.builder("skillhive.vthreads.pinned")
+                .description("Virtual threads pinned to their carrier longer than the threshold")
+                .register(meterRegistry);
+        this.threshold = Duration.ofMillis(thresholdMillis);
+    }
+
+    @PostConstruct
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::report);
+        stream.startAsync();
+        logger.info("Watching for virtual thread pinning longer than {} ms", threshold.toMillis());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void report(RecordedEvent event) {
+        pinnedCounter.increment();
+        StringBuilder frames = new StringBuilder();
+        if (event.getStackTrace() != null) {
+            List<RecordedFrame> stack = event.getStackTrace().getFrames();
+            for (int i = 0; i < Math.min(MAX_FRAMES, stack.size()); i++) {
+                RecordedFrame frame = stack.get(i);
+                frames.append("\n    at ").append(frame.getMethod().getType().getName())
+                        .append('.').append(frame.getMethod().getName())
+                        .append(':').append(frame.getLineNumber());
+            }
+        }
+        logger.warn("Virtual thread pinned for {} ms{}", event.getDuration().toMillis(), frames);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.demo.controller;
+
+import com.example.demo.model.ViewStats;
+import com.example.demo.model.ViewStatsReport;
+import com.example.demo.service.ViewAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+// Per-day views and unique viewers for posts and skills; dates are UTC days (yyyy-MM-dd)
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsController.class);
+
+    private final ViewAnalyticsService viewAnalyticsService;
+
+    @GetMapping("/posts/{id}")
+    public ResponseEntity<?> getPostViews(
+            @PathVariable String id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return report(ViewStats.ObjectType.POST, id, from, to);
+    }
+
+    @GetMapping("/skills/{id}")
+    public ResponseEntity<?> getSkillViews(
+            @PathVariable String id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return report(ViewStats.ObjectType.SKILL, id, from, to);
+    }
+
+    private ResponseEntity<?> report(ViewStats.ObjectType objectType, String id, LocalDate from, LocalDate to) {
+        logger.info("Fetching {} view stats for {} from {} to {}", objectType, id, from, to);
+        try {
+            ViewStatsReport report = viewAnalyticsService.report(objectType, id, from, to);
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid view stats request for {}: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid input: " + e.getMessage());
+        }
+    }
+}
@@ -1,11 +1,17 @@
 package com.example.demo.controller;
 
 import com.example.demo.model.User;
+import com.example.demo.service.AccountAvailabilityService;
+import com.example.demo.service.AccountConflictException;
 import com.example.demo.service.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @RestController
@@ -13,14 +19,56 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class AuthController {
     private final AuthService authService;
+    private final AccountAvailabilityService accountAvailabilityService;
 
     @PostMapping("/register")
-    public Map<String, String> register(@Valid @RequestBody User user) {
-        return authService.register(user);
+    public ResponseEntity<?> register(@Valid @RequestBody User user) {
+        try {
+            return ResponseEntity.ok(authService.register(user));
+        } catch (AccountConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("field", e.getField(), "message", e.getMessage()));
+        }
+    }
+
+    // Live signup-form check, e.g. /auth/availability?username=alice -> {"username": false}
+    @GetMapping("/availability")
+    public ResponseEntity<?> availability(@RequestParam(required = false) String username,
+                                          @RequestParam(required = false) String email) {
+        if ((username == null || username.isBlank()) && (email == null || email.isBlank())) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid input: username or email is required");
+        }
+        Map<String, Boolean> available = new LinkedHashMap<>();
+        if (username != null && !username.isBlank()) {
+            available.put("username", accountAvailabilityService.isUsernameAvailable(username));
+        }
+        if (email != null && !email.isBlank()) {
+            available.put("email", accountAvailabilityService.isEmailAvailable(email));
+        }
+        return ResponseEntity.ok(available);
     }
 
     @PostMapping("/login")
     public Map<String, String> login(@RequestBody User user) {
         return authService.login(user);
     }
+
+    @PostMapping("/refresh")
+    public Map<String, String> refresh(@RequestBody Map<String, String> body) {
+        return authService.refresh(body.get("refreshToken"));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = "Authorization", required = false) String authorization,
+                                       @RequestBody(required = false) Map<String, String> body) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        authService.logout(accessToken, body != null ? body.get("refreshToken") : null);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/logout-all")
+    public ResponseEntity<Void> logoutAll(Authentication authentication) {
+        authService.logoutAll(authentication.getName());
+        return ResponseEntity.noContent().build();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.example.demo.controller;
+
+import com.example.demo.model.LeaderboardStanding;
+import com.example.demo.service.LeaderboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/leaderboards")
+public class LeaderboardController {
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @GetMapping("/quizzes/{quizId}")
+    public ResponseEntity<?> getQuizLeaderboard(
+            @PathVariable Long quizId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        String invalid = validatePage(page, size);
+        if (invalid != null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid input: " + invalid);
+        }
+        return ResponseEntity.ok(leaderboardService.getQuizLeaderboard(quizId, page, Math.min(size, 100)));
+    }
+
+    @GetMapping("/quizzes/{quizId}/users/{userId}")
+    public ResponseEntity<LeaderboardStanding> getQuizStanding(@PathVariable Long quizId, @PathVariable Long userId) {
+        return leaderboardService.getQuizStanding(quizId, userId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/global")
+    public ResponseEntity<?> getGlobalLeaderboard(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        String invalid = validatePage(page, size);
+        if (invalid != null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid input: " + invalid);
+        }
+        return ResponseEntity.ok(leaderboardService.getGlobalLeaderboard(page, Math.min(size, 100)));
+    }
+
+    @GetMapping("/global/users/{userId}")
+    public ResponseEntity<LeaderboardStanding> getGlobalStanding(@PathVariable Long userId) {
+        return leaderboardService.getGlobalStanding(userId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // PageRequest.of rejects these with an IllegalArgumentException, which would surface as a 500
+    private static String validatePage(int page, int size) {
+        if (page < 0) {
+            return "page must not be negative";
+        }
+        if (size < 1) {
+            return "size must be at least 1";
+        }
+        return null;
+    }
+}
@@ -1,25 +1,35 @@
 package com.example.demo.controller;
 
+import com.example.demo.model.BatchItem;
 import com.example.demo.model.Post;
+import com.example.demo.model.TaggedPosts;
+import com.example.demo.model.TrendingTag;
+import com.example.demo.model.ViewStats;
+import com.example.demo.service.DuplicateContentException;
+import com.example.demo.service.MediaCache;
 import com.example.demo.service.PostService;
+import com.example.demo.service.TagService;
+import com.example.demo.service.ViewAnalyticsService;
+import com.example.demo.util.FieldSelection;
+import com.example.demo.util.UploadDirectory;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import javax.annotation.PostConstruct;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/posts")
@@ -29,33 +39,11 @@ public class PostController {
     private static final Logger logger = LoggerFactory.getLogger(PostController.class);
 
     private final PostService postService;
-
-    @Value("${file.upload-dir}")
-    private String UPLOAD_DIR;
-
-    @PostConstruct
-    public void init() {
-        try {
-            Path uploadPath = Paths.get(UPLOAD_DIR).toAbsolutePath().normalize();
-            UPLOAD_DIR = uploadPath.toString();
-            logger.info("Checking upload directory: {}", uploadPath);
-            if (!Files.exists(uploadPath)) {
-                logger.info("Upload directory {} does not exist, creating it", uploadPath);
-                Files.createDirectories(uploadPath);
-                logger.info("Upload directory created successfully: {}", uploadPath);
-            } else {
-                logger.info("Upload directory already exists: {}", uploadPath);
-            }
-            if (!Files.isWritable(uploadPath)) {
-                logger.error("Upload directory {} is not writable", uploadPath);
-                throw new RuntimeException("Upload directory is not writable: " + uploadPath);
-            }
-            logger.info("Upload directory {} is writable", uploadPath);
-        } catch (IOException e) {
-            logger.error("Failed to create upload directory: {}", UPLOAD_DIR, e);
-            throw new RuntimeException("Failed to create upload directory: " + UPLOAD_DIR, e);
-        }
-    }
+    private final MeterRegistry meterRegistry;
+    private final UploadDirectory uploadDirectory;
+    private final MediaCache mediaCache;
+    private final ViewAnalyticsService viewAnalyticsService;
+    private final TagService tagService;
 
     @GetMapping("/test")
     public String test() {
@@ -64,45 +52,125 @@ public class PostController {
     }
 
     @PostMapping
-    public ResponseEntity<Post> createPost(
+    public ResponseEntity<?> createPost(
             @RequestParam String text,
             @RequestParam String creatorId,
             @RequestParam String creatorName,
             @RequestParam(value = "images", required = false) MultipartFile[] images,
-            @RequestParam(value = "video", required = false) MultipartFile video) throws IOException {
+            @RequestParam(value = "video", required = false) MultipartFile video,
+            @RequestParam(value = "uploadIds", required = false) List<String> uploadIds,
+            Authentication authentication) throws IOException {
         logger.info("Creating post for creatorId: {}", creatorId);
-        Post post = postService.createPost(text, creatorId, creatorName, images, video);
+        Post post;
+        try {
+            post = postService.createPost(text, creatorId, creatorName, images, video, authentication.getName(), uploadIds);
+        } catch (DuplicateContentException e) {
+            logger.warn("Rejected duplicate post from creatorId {}", creatorId);
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(Map.of("message", e.getMessage()));
+        }
         logger.info("Post created with ID: {}", post.getId());
         return ResponseEntity.ok(post);
     }
 
     @GetMapping
-    public ResponseEntity<Page<Post>> getAllPosts(
+    public ResponseEntity<?> getAllPosts(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        logger.info("Fetching all posts, page: {}, size: {}", page, size);
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String fields,
+            HttpServletRequest request) {
+        logger.info("Fetching all posts, page: {}, size: {}, fields: {}", page, size, fields);
         if (size > 100) {
             size = 100;
         }
-        return ResponseEntity.ok(postService.getAllPosts(page, size));
+        FieldSelection selection;
+        try {
+            selection = FieldSelection.parse(fields, Post.class);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid input: " + e.getMessage());
+        }
+        Page<Post> posts = postService.getAllPosts(page, size, selection);
+        // Every post on a feed page counts as seen
+        viewAnalyticsService.recordViews(ViewStats.ObjectType.POST,
+                posts.getContent().stream().map(Post::getId).toList(), request);
+        return ResponseEntity.ok(selection.filter(posts));
+    }
+
+    // GET /api/posts/batch?ids=a,b,c: results in request order, missing posts marked found=false
+    @GetMapping("/batch")
+    public ResponseEntity<?> getPostsByIds(@RequestParam List<String> ids) {
+        logger.info("Fetching {} posts by ID", ids.size());
+        try {
+            List<BatchItem<Post>> posts = postService.getPostsByIds(ids);
+            return ResponseEntity.ok(posts);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid batch request: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid input: " + e.getMessage());
+        }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Post> getPostById(@PathVariable String id) {
+    public ResponseEntity<?> getPostById(
+            @PathVariable String id,
+            @RequestParam(required = false) String fields,
+            HttpServletRequest request) {
         logger.info("Fetching post with ID: {}", id);
-        Post post = postService.getPostById(id);
+        FieldSelection selection;
+        try {
+            selection = FieldSelection.parse(fields, Post.class);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid input: " + e.getMessage());
+        }
+        Post post = postService.getPostById(id, selection);
         if (post == null) {
             logger.warn("Post not found with ID: {}", id);
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(post);
+        viewAnalyticsService.recordView(ViewStats.ObjectType.POST, id, request);
+        return ResponseEntity.ok(selection.filter(post));
+    }
+
+    // Trending hashtags: uses summed over the last hours
+    @GetMapping("/tags")
+    public ResponseEntity<?> getTrendingTags(
+            @RequestParam(defaultValue = "24") int hours,
+            @RequestParam(defaultValue = "10") int limit) {
+        logger.info("Fetching trending tags for the last {} hours", hours);
+        try {
+            List<TrendingTag> trending = tagService.trending(hours, limit);
+            return ResponseEntity.ok(trending);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid input: " + e.getMessage());
+        }
+    }
+
+    // Posts with a hashtag, newest first; pass the returned nextCursor as before for the next page
+    @GetMapping("/tags/{tag}")
+    public ResponseEntity<?> getPostsByTag(
+            @PathVariable String tag,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "20") int size) {
+        logger.info("Fetching posts tagged {} before {}", tag, before);
+        try {
+            TaggedPosts posts = tagService.postsByTag(tag, before, size);
+            return ResponseEntity.ok(posts);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid input: " + e.getMessage());
+        }
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Post>> getPostsByUserId(@PathVariable String userId) {
+    public ResponseEntity<?> getPostsByUserId(
+            @PathVariable String userId,
+            @RequestParam(required = false) String fields) {
         logger.info("Fetching posts for userId: {}", userId);
-        List<Post> posts = postService.getPostsByUserId(userId);
-        return ResponseEntity.ok(posts);
+        FieldSelection selection;
+        try {
+            selection = FieldSelection.parse(fields, Post.class);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid input: " + e.getMessage());
+        }
+        List<Post> posts = postService.getPostsByUserId(userId, selection);
+        return ResponseEntity.ok(selection.filter(posts));
     }
 
     @PutMapping("/{id}")
@@ -110,9 +178,11 @@ public class PostController {
             @PathVariable String id,
             @RequestParam String text,
             @RequestParam(value = "images", required = false) MultipartFile[] images,
-            @RequestParam(value = "video", required = false) MultipartFile video) throws IOException {
+            @RequestParam(value = "video", required = false) MultipartFile video,
+            @RequestParam(value = "uploadIds", required = false) List<String> uploadIds,
+            Authentication authentication) throws IOException {
         logger.info("Updating post with ID: {}", id);
-        Post post = postService.updatePost(id, text, images, video);
+        Post post = postService.updatePost(id, text, images, video, authentication.getName(), uploadIds);
         if (post == null) {
             logger.warn("Post not found with ID: {}", id);
             return ResponseEntity.notFound().build();
@@ -146,13 +216,19 @@ public class PostController {
     }
 
     @PostMapping("/{postId}/comments")
-    public ResponseEntity<Post> addComment(
+    public ResponseEntity<?> addComment(
             @PathVariable String postId,
             @RequestParam String text,
             @RequestParam String creatorId,
             @RequestParam String creatorName) {
         logger.info("Adding comment to post with ID: {}", postId);
-        Post post = postService.addComment(postId, text, creatorId, creatorName);
+        Post post;
+        try {
+            post = postService.addComment(postId, text, creatorId, creatorName);
+        } catch (DuplicateContentException e) {
+            logger.warn("Rejected duplicate comment on post {}", postId);
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(Map.of("message", e.getMessage()));
+        }
         if (post == null) {
             logger.warn("Post not found with ID: {}", postId);
             return ResponseEntity.notFound().build();
@@ -208,21 +284,35 @@ public class PostController {
     @GetMapping(value = "/uploads/{filename:.+}", produces = {MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
     public ResponseEntity<Resource> serveFile(@PathVariable String filename) throws IOException {
         logger.info("Serving file: {}", filename);
-        Path uploadPath = Paths.get(UPLOAD_DIR).normalize();
-        Path filePath = uploadPath.resolve(filename).normalize();
-        if (!filePath.startsWith(uploadPath)) {
-            logger.warn("Invalid file path: {}", filePath);
+        if (uploadDirectory.resolve(filename) == null) {
+            logger.warn("Invalid file path: {}", filename);
             return ResponseEntity.badRequest().build();
         }
-        if (!Files.exists(filePath)) {
-            logger.warn("File not found: {}", filePath);
+        // Hits come from memory without touching the filesystem
+        MediaCache.CachedMedia media = mediaCache.get(filename);
+        if (media == null) {
+            logger.warn("File not found: {}", filename);
             return ResponseEntity.notFound().build();
         }
-        Resource resource = new FileSystemResource(filePath);
-        String contentType = Files.probeContentType(filePath);
+        String contentType = media.contentType();
         logger.info("Serving file {} with content type: {}", filename, contentType);
+        DistributionSummary.builder("skillhive.media.served")
+                .baseUnit("bytes")
+                .tag("type", mediaCategory(contentType))
+                .register(meterRegistry)
+                .record(media.length());
         return ResponseEntity.ok()
                 .contentType(MediaType.parseMediaType(contentType != null ? contentType : MediaType.APPLICATION_OCTET_STREAM_VALUE))
-                .body(resource);
+                .contentLength(media.length())
+                .body(media.resource());
+    }
+
+    // Top-level MIME type ("image", "video", ...) keeps the metric's tag cardinality small
+    private static String mediaCategory(String contentType) {
+        if (contentType == null) {
+            return "unknown";
+        }
+        int slash = contentType.indexOf('/');
+        return slash > 0 ? contentType.substring(0, slash) : contentType;
     }
 }
\ No newline at end of file
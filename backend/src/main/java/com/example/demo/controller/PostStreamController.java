@@ -0,0 +1,87 @@
+package com.example.demo.controller;
+
+import com.example.demo.model.Post;
+import com.example.demo.repository.ReactivePostRepository;
+import com.example.demo.service.UserBatchLoader;
+import com.example.demo.util.UploadDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+// Streaming variants of the feed and media read paths. They run next to the MVC
+// endpoints in PostController: the feed is written item by item as documents come
+// off the reactive Mongo cursor, and media is copied to the response in chunks
+// (with Range support) instead of being loaded into memory first.
+@RestController
+@RequestMapping("/api/posts/stream")
+public class PostStreamController {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostStreamController.class);
+    private static final int ENRICH_BATCH_SIZE = 32;
+    private static final Duration ENRICH_BATCH_WAIT = Duration.ofMillis(20);
+
+    private final ReactivePostRepository reactivePostRepository;
+    private final UploadDirectory uploadDirectory;
+    private final UserBatchLoader userBatchLoader;
+
+    public PostStreamController(ReactivePostRepository reactivePostRepository, UploadDirectory uploadDirectory,
+                                UserBatchLoader userBatchLoader) {
+        this.reactivePostRepository = reactivePostRepository;
+        this.uploadDirectory = uploadDirectory;
+        this.userBatchLoader = userBatchLoader;
+    }
+
+    // NDJSON (application/x-ndjson) or Server-Sent Events (text/event-stream), chosen by the Accept header
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<Post> streamPosts(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        logger.info("Streaming posts, page: {}, size: {}", page, size);
+        // Authors are resolved a small batch at a time so items still stream out early;
+        // the user lookup is blocking JDBC, so it runs off the Mongo driver threads
+        return reactivePostRepository.findAllBy(PageRequest.of(page, Math.min(size, 100)))
+                .bufferTimeout(ENRICH_BATCH_SIZE, ENRICH_BATCH_WAIT)
+                .concatMap(batch -> Mono.fromCallable(() -> enrich(batch)).subscribeOn(Schedulers.boundedElastic()))
+                .concatMapIterable(batch -> batch);
+    }
+
+    private List<Post> enrich(List<Post> batch) {
+        userBatchLoader.enrich(batch);
+        return batch;
+    }
+
+    @GetMapping("/uploads/{filename:.+}")
+    public ResponseEntity<Resource> streamFile(@PathVariable String filename) throws IOException {
+        Path filePath = uploadDirectory.resolve(filename);
+        if (filePath == null) {
+            logger.warn("Invalid file path: {}", filename);
+            return ResponseEntity.badRequest().build();
+        }
+        if (!Files.exists(filePath)) {
+            logger.warn("File not found: {}", filePath);
+            return ResponseEntity.notFound().build();
+        }
+        String contentType = Files.probeContentType(filePath);
+        long length = Files.size(filePath);
+        // The resource converter copies the file on the request thread with blocking I/O,
+        // which is what a servlet response write is anyway; no async thread is held
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(contentType != null ? contentType : MediaType.APPLICATION_OCTET_STREAM_VALUE))
+                .contentLength(length)
+                .body(new FileSystemResource(filePath));
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.demo.controller;
+
+import com.example.demo.model.QuizAttempt;
+import com.example.demo.service.QuizAttemptService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+// Attempts always belong to the authenticated user
+@RestController
+@RequestMapping("/api/quizzes/{quizId}/attempts")
+public class QuizAttemptController {
+
+    @Autowired
+    private QuizAttemptService attemptService;
+
+    @PostMapping
+    public QuizAttempt startAttempt(@PathVariable Long quizId, Authentication authentication) {
+        return attemptService.startAttempt(quizId, authentication.getName());
+    }
+
+    // Body maps question id to the submitted answer
+    @PostMapping("/{attemptId}/submit")
+    public QuizAttempt submitAttempt(@PathVariable Long quizId, @PathVariable String attemptId,
+                                     @RequestBody Map<Long, String> answers, Authentication authentication) {
+        return attemptService.submitAttempt(quizId, attemptId, authentication.getName(), answers);
+    }
+
+    @GetMapping
+    public List<QuizAttempt> getAttempts(@PathVariable Long quizId, Authentication authentication) {
+        return attemptService.getAttempts(quizId, authentication.getName());
+    }
+}
@@ -1,8 +1,12 @@
 package com.example.demo.controller;
 
+import com.example.demo.model.BatchItem;
 import com.example.demo.model.Quiz;
 import com.example.demo.service.QuizService;
+import com.example.demo.util.FieldSelection;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -20,13 +24,33 @@ public class QuizController {
     }
 
     @GetMapping("/user/{userId}")
-    public List<Quiz> getUserQuizzes(@PathVariable Long userId) {
-        return quizService.getQuizzesByUser(userId);
+    public ResponseEntity<?> getUserQuizzes(@PathVariable Long userId, @RequestParam(required = false) String fields) {
+        try {
+            FieldSelection selection = FieldSelection.parse(fields, Quiz.class);
+            return ResponseEntity.ok(selection.filter(quizService.getQuizzesByUser(userId, selection)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid input: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/batch")
+    public ResponseEntity<?> getQuizzesByIds(@RequestParam List<Long> ids) {
+        try {
+            List<BatchItem<Quiz>> quizzes = quizService.getQuizzesByIds(ids);
+            return ResponseEntity.ok(quizzes);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid input: " + e.getMessage());
+        }
     }
 
     @GetMapping("/{id}")
-    public Quiz getQuizById(@PathVariable Long id) {
-        return quizService.getQuizById(id);
+    public ResponseEntity<?> getQuizById(@PathVariable Long id, @RequestParam(required = false) String fields) {
+        try {
+            FieldSelection selection = FieldSelection.parse(fields, Quiz.class);
+            return ResponseEntity.ok(selection.filter(quizService.getQuizById(id, selection)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid input: " + e.getMessage());
+        }
     }
 
     @PutMapping("/{id}")
@@ -1,13 +1,20 @@
 package com.example.demo.controller;
 
+import com.example.demo.model.BatchItem;
 import com.example.demo.model.Skill;
+import com.example.demo.model.ViewStats;
 import com.example.demo.service.SkillService;
+import com.example.demo.service.ViewAnalyticsService;
+import com.example.demo.util.FieldSelection;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 // REST controller for Skill APIs
 @RestController
@@ -17,10 +24,8 @@ public class SkillController {
     @Autowired
     private SkillService skillService;
 
-    // Debug constructor to confirm controller registration
-    public SkillController() {
-        System.out.println("SkillController initialized");
-    }
+    @Autowired
+    private ViewAnalyticsService viewAnalyticsService;
 
     // Test endpoint to verify controller
     @GetMapping("/test")
@@ -30,28 +35,52 @@ public class SkillController {
 
     // Get all skills
     @GetMapping
-    public List<Skill> getAllSkills() {
-        return skillService.getAllSkills();
+    public ResponseEntity<?> getAllSkills(@RequestParam(required = false) String fields) {
+        return select(fields, selection -> skillService.getAllSkills(selection));
+    }
+
+    // Get several skills by ID in one query, in request order
+    @GetMapping("/batch")
+    public ResponseEntity<?> getSkillsByIds(@RequestParam List<String> ids) {
+        try {
+            List<BatchItem<Skill>> skills = skillService.getSkillsByIds(ids);
+            return ResponseEntity.ok(skills);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid input: " + e.getMessage());
+        }
     }
 
     // Get skill by ID
     @GetMapping("/{id}")
-    public ResponseEntity<Skill> getSkillById(@PathVariable String id) {
-        Optional<Skill> skill = skillService.getSkillById(id);
-        return skill.map(ResponseEntity::ok)
-                   .orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<?> getSkillById(@PathVariable String id,
+                                          @RequestParam(required = false) String fields,
+                                          HttpServletRequest request) {
+        FieldSelection selection;
+        try {
+            selection = FieldSelection.parse(fields, Skill.class);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid input: " + e.getMessage());
+        }
+        Optional<Skill> skill = skillService.getSkillById(id, selection);
+        if (skill.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        viewAnalyticsService.recordView(ViewStats.ObjectType.SKILL, id, request);
+        return ResponseEntity.ok(selection.filter(skill.get()));
     }
 
     // Get skills by category
     @GetMapping("/category/{category}")
-    public List<Skill> getSkillsByCategory(@PathVariable String category) {
-        return skillService.getSkillsByCategory(category);
+    public ResponseEntity<?> getSkillsByCategory(@PathVariable String category,
+                                                 @RequestParam(required = false) String fields) {
+        return select(fields, selection -> skillService.getSkillsByCategory(category, selection));
     }
 
     // Get skills by user ID
     @GetMapping("/user/{userId}")
-    public List<Skill> getSkillsByUserId(@PathVariable String userId) {
-        return skillService.getSkillsByUserId(userId);
+    public ResponseEntity<?> getSkillsByUserId(@PathVariable String userId,
+                                               @RequestParam(required = false) String fields) {
+        return select(fields, selection -> skillService.getSkillsByUserId(userId, selection));
     }
 
     // Create a new skill
@@ -76,4 +105,15 @@ public class SkillController {
         skillService.deleteSkill(id);
         return ResponseEntity.ok().build();
     }
-}
\ No newline at end of file
+
+    // Parses fields=, runs the projected read and writes only the selected properties
+    private ResponseEntity<?> select(String fields, Function<FieldSelection, List<Skill>> read) {
+        FieldSelection selection;
+        try {
+            selection = FieldSelection.parse(fields, Skill.class);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid input: " + e.getMessage());
+        }
+        return ResponseEntity.ok(selection.filter(read.apply(selection)));
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.demo.controller;
+
+import com.example.demo.model.UploadSession;
+import com.example.demo.service.UploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Optional;
+
+// Resumable uploads for large media. Flow:
+//   POST   /api/uploads                  {filename, contentType, length} -> 201, Location
+//   HEAD   /api/uploads/{id}             -> Upload-Offset / Upload-Length to resume from
+//   PATCH  /api/uploads/{id}             Upload-Offset header, application/offset+octet-stream body
+//   POST   /api/uploads/{id}/complete    ?sha256=<hex> -> ready to pass as uploadIds to /api/posts
+@RestController
+@RequestMapping("/api/uploads")
+@RequiredArgsConstructor
+public class UploadController {
+
+    private static final Logger logger = LoggerFactory.getLogger(UploadController.class);
+    private static final String UPLOAD_OFFSET = "Upload-Offset";
+    private static final String UPLOAD_LENGTH = "Upload-Length";
+    private static final String OFFSET_OCTET_STREAM = "application/offset+octet-stream";
+
+    private final UploadService uploadService;
+
+    @PostMapping
+    public ResponseEntity<?> createUpload(@RequestBody CreateUploadRequest request, Authentication authentication) throws IOException {
+        try {
+            UploadSession session = uploadService.create(authentication.getName(), request.getFilename(),
+                    request.getContentType(), request.getLength());
+            return ResponseEntity.created(URI.create("/api/uploads/" + session.getId()))
+                    .header(UPLOAD_OFFSET, "0")
+                    .header(UPLOAD_LENGTH, Long.toString(session.getLength()))
+                    .body(session);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected upload {}: {}", request.getFilename(), e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @RequestMapping(value = "/{id}", method = RequestMethod.HEAD)
+    public ResponseEntity<Void> uploadOffset(@PathVariable String id, Authentication authentication) {
+        return uploadService.find(id, authentication.getName())
+                .map(session -> ResponseEntity.ok()
+                        .cacheControl(CacheControl.noStore())
+                        .header(UPLOAD_OFFSET, Long.toString(session.getOffset()))
+                        .header(UPLOAD_LENGTH, Long.toString(session.getLength()))
+                        .<Void>build())
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<UploadSession> getUpload(@PathVariable String id, Authentication authentication) {
+        return ResponseEntity.of(uploadService.find(id, authentication.getName()));
+    }
+
+    @PatchMapping(value = "/{id}", consumes = OFFSET_OCTET_STREAM)
+    public ResponseEntity<?> uploadChunk(@PathVariable String id,
+                                         @RequestHeader(UPLOAD_OFFSET) long offset,
+                                         HttpServletRequest request,
+                                         Authentication authentication) throws IOException {
+        Optional<UploadSession> session = uploadService.find(id, authentication.getName());
+        if (session.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            long newOffset = uploadService.appendChunk(session.get(), offset, request.getInputStream());
+            return ResponseEntity.noContent()
+                    .header(UPLOAD_OFFSET, Long.toString(newOffset))
+                    .build();
+        } catch (IllegalStateException e) {
+            logger.warn("Chunk for upload {} at offset {} rejected: {}", id, offset, e.getMessage());
+            long current = uploadService.find(id, authentication.getName()).map(UploadSession::getOffset).orElse(0L);
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .header(UPLOAD_OFFSET, Long.toString(current))
+                    .body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/{id}/complete")
+    public ResponseEntity<?> completeUpload(@PathVariable String id, @RequestParam String sha256,
+                                            Authentication authentication) throws IOException {
+        Optional<UploadSession> session = uploadService.find(id, authentication.getName());
+        if (session.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.ok(uploadService.complete(session.get(), sha256));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> abortUpload(@PathVariable String id, Authentication authentication) throws IOException {
+        Optional<UploadSession> session = uploadService.find(id, authentication.getName());
+        if (session.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            uploadService.abort(session.get());
+            return ResponseEntity.noContent().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
+    @Data
+    public static class CreateUploadRequest {
+        private String filename;
+        private String contentType;
+        private long length;
+    }
+}
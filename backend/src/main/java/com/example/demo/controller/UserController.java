@@ -1,6 +1,7 @@
 package com.example.demo.controller;
 
 import com.example.demo.model.User;
+import com.example.demo.model.UserRecommendations;
 import com.example.demo.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -9,6 +10,8 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/user")
 @RequiredArgsConstructor
@@ -22,4 +25,11 @@ public class UserController {
         User user = userService.getUserByUsername(username);
         return ResponseEntity.ok(user);
     }
-}
\ No newline at end of file
+
+    // "People you may know" for the signed-in user, best first
+    @GetMapping("/recommendations")
+    public ResponseEntity<List<UserRecommendations.Recommendation>> getRecommendations(Authentication authentication) {
+        User user = userService.getUserByUsername(authentication.getName());
+        return ResponseEntity.ok(userService.getRecommendations(user));
+    }
+}
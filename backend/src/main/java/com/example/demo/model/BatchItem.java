@@ -0,0 +1,25 @@
+package com.example.demo.model;
+
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// One entry of a batch read: the requested id, and the item or found=false when it does not exist
+@Value
+public class BatchItem<T> {
+    String id;
+    boolean found;
+    T item;
+
+    // Results in the order the ids were requested, duplicates included
+    public static <K, T> List<BatchItem<T>> inRequestOrder(List<K> ids, Map<K, T> found) {
+        List<BatchItem<T>> items = new ArrayList<>(ids.size());
+        for (K id : ids) {
+            T item = found.get(id);
+            items.add(new BatchItem<>(String.valueOf(id), item != null, item));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.demo.model;
+
+import lombok.Value;
+
+// Best result of one user on a leaderboard; immutable because it is a skip list key
+@Value
+public class LeaderboardEntry {
+    Long userId;
+    long score;
+    long durationMillis;
+}
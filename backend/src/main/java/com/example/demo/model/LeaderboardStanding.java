@@ -0,0 +1,12 @@
+package com.example.demo.model;
+
+import lombok.Value;
+
+// A leaderboard entry together with its 1-based rank at read time
+@Value
+public class LeaderboardStanding {
+    long rank;
+    Long userId;
+    long score;
+    long durationMillis;
+}
@@ -2,12 +2,14 @@ package com.example.demo.model;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.Date;
 
 @Data
 @Document(collection = "notifications")
+@CompoundIndex(name = "user_read", def = "{'userId': 1, 'read': 1}", background = true)
 public class Notification {
     @Id
     private String id;
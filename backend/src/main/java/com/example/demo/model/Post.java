@@ -1,7 +1,12 @@
 package com.example.demo.model;
 
+import com.example.demo.util.FieldSelection;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -11,6 +16,16 @@ import java.util.List;
 // Post entity for MongoDB
 @Data
 @Document(collection = "posts")
+@JsonFilter(FieldSelection.FILTER_ID)
+@CompoundIndexes({
+        // Serves findByCreatorId (with and without paging) and newest-first profile listings
+        @CompoundIndex(name = "creator_created", def = "{'creatorId': 1, 'createdAt': -1}", background = true),
+        // Multikey tag -> post index; serves the newest-first keyset pages of /api/posts/tags/{tag}
+        @CompoundIndex(name = "hashtags_id", def = "{'hashtags': 1, '_id': -1}", background = true),
+        // Only tombstones are indexed; PostCleanupJob takes the oldest first
+        @CompoundIndex(name = "tombstones", def = "{'deleted': 1, 'deletedAt': 1}",
+                partialFilter = "{ 'deleted': true }", background = true)
+})
 public class Post {
     @Id
     private String id; // Unique identifier
@@ -20,8 +35,17 @@ public class Post {
     private List<String> likes = new ArrayList<>(); // List of user IDs who liked the post
     private List<Media> media = new ArrayList<>(); // List of media (images/videos)
     private List<Comment> comments = new ArrayList<>(); // List of comments
+    private List<String> hashtags = new ArrayList<>(); // Lower-case #tags from text, set by PostService
+    private List<String> mentions = new ArrayList<>(); // @usernames from text
     private LocalDateTime createdAt; // Creation timestamp
     private LocalDateTime updatedAt; // Last update timestamp
+    private boolean flagged; // Near-copy of recent content, marked by DuplicateContentDetector
+    private boolean deleted; // Tombstone: hidden from reads, removed by PostCleanupJob
+    private LocalDateTime deletedAt;
+    private int cleanupAttempts; // Failed PostCleanupJob runs for this tombstone
+    private LocalDateTime cleanupRetryAt; // PostCleanupJob skips the tombstone until then
+    @Version
+    private Long version; // Bumped by every write; guards read-modify-write saves
 
     // Nested class for media metadata
     @Data
@@ -42,6 +66,7 @@ public class Post {
         private String text; // Comment text
         private String creatorId; // User ID of commenter
         private String creatorName; // Commenter's name
+        private boolean flagged; // Near-copy of recent content
         private LocalDateTime createdAt; // Comment timestamp
     }
 }
\ No newline at end of file
@@ -2,12 +2,19 @@ package com.example.demo.model;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 
 @Data
 @Document(collection = "post_interactions")
+// Prefixes also serve findByRecipientId and findByPostId
+@CompoundIndexes({
+        @CompoundIndex(name = "recipient_type", def = "{'recipientId': 1, 'type': 1}", background = true),
+        @CompoundIndex(name = "post_comment", def = "{'postId': 1, 'commentId': 1}", background = true)
+})
 public class PostInteraction {
     @Id
     private String id;
@@ -1,14 +1,21 @@
 package com.example.demo.model;
 
+import com.example.demo.util.FieldSelection;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 @Entity
+@JsonFilter(FieldSelection.FILTER_ID)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -26,6 +33,7 @@ public class Quiz {
     private User user;
 
     @OneToMany(mappedBy = "quiz", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JsonManagedReference
     private List<Question> questions = new ArrayList<>();
 
@@ -0,0 +1,53 @@
+package com.example.demo.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+// Graded quiz attempt. The id is assigned by the grading engine so attempts can be
+// inserted in JDBC batches (IDENTITY ids would force one round trip per row).
+@Entity
+@Table(name = "quiz_attempts", indexes = {
+        @Index(name = "idx_quiz_attempts_quiz_user", columnList = "quiz_id, user_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuizAttempt implements Persistable<String> {
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "quiz_id", nullable = false)
+    private Long quizId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    private int score;
+    private int maxScore;
+    private long durationMillis;
+    private LocalDateTime startedAt;
+    private LocalDateTime submittedAt;
+
+    // Attempts are written once and never updated, so every entity handed to
+    // saveAll is new and Hibernate can skip the select-before-insert merge.
+    @Transient
+    private boolean isNew = true;
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// One refresh token of a login session. Only the SHA-256 of the opaque token is stored.
+// Every refresh marks the presented token used and issues the next one in the same family;
+// presenting a used token again means it leaked, and the whole family is revoked.
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_family", columnList = "family_id"),
+        @Index(name = "idx_refresh_tokens_username", columnList = "username")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_hash", unique = true, nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    @Column(nullable = false)
+    private String username;
+
+    private boolean used;
+    private boolean revoked;
+    private LocalDateTime createdAt;
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,37 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Deny-list entry for access tokens that have not expired yet. With a jti it revokes that
+// one token; without one it revokes every token of the user issued before revokedAt.
+// Rows are dropped once expiresAt passes, since the tokens they cover are dead by then.
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "idx_revoked_tokens_jti", columnList = "jti"),
+        @Index(name = "idx_revoked_tokens_username", columnList = "username"),
+        @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(length = 36)
+    private String jti;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -1,18 +1,24 @@
 package com.example.demo.model;
 
+import com.example.demo.util.FieldSelection;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 // Skill entity for MongoDB
 @Data
 @Document(collection = "skills")
+@JsonFilter(FieldSelection.FILTER_ID)
 public class Skill {
     @Id
     private String id; // Unique identifier
     private String title; // Skill title
     private String description; // Skill description
+    @Indexed(name = "category", background = true)
     private String category; // Skill category (e.g., Programming)
+    @Indexed(name = "user", background = true)
     private String userId; // User who offers the skill
     private String status; // Skill status (e.g., Available, Offered)
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.example.demo.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+// Uses of one hashtag in one hour. Trending tags sum the recent buckets instead of scanning
+// posts; buckets expire on their own once they are too old to matter.
+@Data
+@Document(collection = "tag_buckets")
+public class TagBucket {
+    @Id
+    private String id; // tag:epochHour
+    private String tag;
+    // TTL index; also serves the bucket range match of the trending aggregation
+    @Indexed(name = "bucket_ttl", expireAfter = "8d")
+    private Instant bucket; // Start of the hour
+    private long count;
+}
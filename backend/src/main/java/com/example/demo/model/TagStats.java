@@ -0,0 +1,17 @@
+package com.example.demo.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+// Number of visible posts carrying a hashtag, kept current by TagService on every post write
+@Data
+@Document(collection = "tag_stats")
+public class TagStats {
+    @Id
+    private String tag; // Lower-case, without '#'
+    private long count;
+    private LocalDateTime updatedAt;
+}
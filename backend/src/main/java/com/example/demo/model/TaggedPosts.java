@@ -0,0 +1,14 @@
+package com.example.demo.model;
+
+import lombok.Value;
+
+import java.util.List;
+
+// One keyset page of /api/posts/tags/{tag}; pass nextCursor as ?before= for the next page
+@Value
+public class TaggedPosts {
+    String tag;
+    long count; // Visible posts with the tag
+    List<Post> posts;
+    String nextCursor; // null on the last page
+}
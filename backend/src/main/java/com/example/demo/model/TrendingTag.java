@@ -0,0 +1,10 @@
+package com.example.demo.model;
+
+import lombok.Value;
+
+// A hashtag and how often it was used in the trending window
+@Value
+public class TrendingTag {
+    String tag;
+    long uses;
+}
@@ -0,0 +1,37 @@
+package com.example.demo.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+// A resumable media upload. The bytes live in the upload directory under storedName;
+// this document records how many of them are durably written (offset) so a client can
+// resume after a reconnect or a server restart.
+@Data
+@Document(collection = "upload_sessions")
+// Serves the expiry sweep (findByStatusInAndUpdatedAtBefore)
+@CompoundIndex(name = "status_updated", def = "{'status': 1, 'updatedAt': 1}", background = true)
+public class UploadSession {
+    @Id
+    private String id;
+    private String ownerId; // Authenticated user that created the upload
+    private String filename; // Client-side file name
+    private String contentType; // e.g. video/mp4
+    private Post.MediaType mediaType; // IMAGE or VIDEO, derived from contentType
+    private long length; // Declared total size in bytes
+    private long offset; // Bytes written and flushed so far
+    private String storedName; // File name inside the upload directory
+    private String sha256; // Hex digest, set once the upload is complete
+    private Status status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public enum Status {
+        IN_PROGRESS, // Accepting chunks
+        COMPLETE, // All bytes received and checksum verified
+        ATTACHED // Referenced by a post; the file now belongs to the post
+    }
+}
@@ -2,22 +2,33 @@ package com.example.demo.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
-@Table(name = "users")
+// Named unique keys let AuthService.register tell a taken username from a taken email
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = User.USERNAME_CONSTRAINT, columnNames = "username"),
+        @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class User {
+    public static final String USERNAME_CONSTRAINT = "uk_users_username";
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String username;
 
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String email;
 
     @Column(nullable = false)
@@ -0,0 +1,28 @@
+package com.example.demo.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// "People you may know" for one user, written by PeopleRecommendationJob
+@Data
+@Document(collection = "user_recommendations")
+public class UserRecommendations {
+    @Id
+    private String userId;
+    private List<Recommendation> recommendations = new ArrayList<>(); // Best first
+    private LocalDateTime computedAt;
+
+    @Data
+    public static class Recommendation {
+        private String userId;
+        private double score; // Summed weight of shared skills, liked posts and comment threads
+        @Transient
+        private String username; // Filled in when served
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.demo.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+
+// Views of one post or skill on one day: a total and a HyperLogLog sketch of the viewers
+@Data
+@Document(collection = "view_stats")
+// Serves the per-object day-range reads in ViewAnalyticsService
+@CompoundIndex(name = "object_day", def = "{'objectType': 1, 'objectId': 1, 'day': 1}", background = true)
+public class ViewStats {
+    @Id
+    private String id; // objectType:objectId:day
+    private ObjectType objectType;
+    private String objectId;
+    private LocalDate day;
+    private long views; // Total views
+    private byte[] viewers; // HyperLogLog registers of distinct viewers
+    @Version
+    private Long version;
+
+    public enum ObjectType {
+        POST, SKILL
+    }
+
+    public static String idFor(ObjectType objectType, String objectId, LocalDate day) {
+        return objectType + ":" + objectId + ":" + day;
+    }
+}
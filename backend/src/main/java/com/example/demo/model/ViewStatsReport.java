@@ -0,0 +1,26 @@
+package com.example.demo.model;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// View analytics for one object over a day range. uniqueViewers for the range comes from
+// the merged daily sketches, so a viewer seen on several days is counted once.
+@Value
+public class ViewStatsReport {
+    ViewStats.ObjectType objectType;
+    String objectId;
+    LocalDate from;
+    LocalDate to;
+    long views;
+    long uniqueViewers;
+    List<Day> days;
+
+    @Value
+    public static class Day {
+        LocalDate day;
+        long views;
+        long uniqueViewers;
+    }
+}
@@ -4,15 +4,20 @@ import com.example.demo.model.Post;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 import java.util.List;
 
-// MongoDB repository for Post
+// MongoDB repository for Post. Deleted posts stay in the collection as tombstones until
+// PostCleanupJob removes them, so the read methods filter them out.
 public interface PostRepository extends MongoRepository<Post, String> {
-    // Find all posts with pagination
-    Page<Post> findAll(Pageable pageable);
+    // Find all visible posts with pagination
+    @Query("{ 'deleted': { '$ne': true } }")
+    Page<Post> findVisible(Pageable pageable);
     // Find posts by creator ID
+    @Query("{ 'creatorId': ?0, 'deleted': { '$ne': true } }")
     List<Post> findByCreatorId(String creatorId);
     // Find posts by creator ID with pagination (optional)
+    @Query("{ 'creatorId': ?0, 'deleted': { '$ne': true } }")
     Page<Post> findByCreatorId(String creatorId, Pageable pageable);
-}
\ No newline at end of file
+}
@@ -0,0 +1,18 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.QuizAttempt;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+public interface QuizAttemptRepository extends JpaRepository<QuizAttempt, String> {
+    List<QuizAttempt> findByQuizIdAndUserId(Long quizId, Long userId);
+
+    // Streams every attempt for the leaderboard rebuild without materializing the table
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<QuizAttempt> streamAllBy();
+}
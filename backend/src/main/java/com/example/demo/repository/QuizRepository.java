@@ -1,9 +1,14 @@
 package com.example.demo.repository;
 
 import com.example.demo.model.Quiz;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import java.util.List;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
 public interface QuizRepository extends JpaRepository<Quiz, Long> {
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Quiz> findByUserId(Long userId);
 }
@@ -0,0 +1,14 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.Post;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+// Reactive view of the posts collection used by the streaming read endpoints
+public interface ReactivePostRepository extends ReactiveMongoRepository<Post, String> {
+    // Emits visible posts as the cursor delivers them instead of materializing the page
+    @Query("{ 'deleted': { '$ne': true } }")
+    Flux<Post> findAllBy(Pageable pageable);
+}
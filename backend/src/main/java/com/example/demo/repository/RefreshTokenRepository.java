@@ -0,0 +1,31 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    // Conditional so two concurrent refreshes with one token cannot both rotate it
+    @Modifying
+    @Query("update RefreshToken t set t.used = true where t.id = :id and t.used = false and t.revoked = false")
+    int markUsed(@Param("id") Long id);
+
+    @Modifying
+    @Query("update RefreshToken t set t.revoked = true where t.familyId = :familyId")
+    int revokeFamily(@Param("familyId") String familyId);
+
+    @Modifying
+    @Query("update RefreshToken t set t.revoked = true where t.username = :username")
+    int revokeAllForUser(@Param("username") String username);
+
+    @Modifying
+    @Query("delete from RefreshToken t where t.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
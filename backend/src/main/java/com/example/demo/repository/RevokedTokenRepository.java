@@ -0,0 +1,27 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Declared queries run outside a read-only transaction, so these lookups hit the primary
+// and see a revocation as soon as it commits
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+    boolean existsByJti(String jti);
+
+    boolean existsByUsernameAndJtiIsNullAndRevokedAtAfter(String username, LocalDateTime issuedAt);
+
+    // Incremental deny-list refresh
+    List<RevokedToken> findByRevokedAtGreaterThanEqual(LocalDateTime since);
+
+    List<RevokedToken> findByExpiresAtAfter(LocalDateTime now);
+
+    @Modifying
+    @Query("delete from RevokedToken t where t.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,12 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.UploadSession;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface UploadSessionRepository extends MongoRepository<UploadSession, String> {
+    List<UploadSession> findByStatusInAndUpdatedAtBefore(Collection<UploadSession.Status> statuses, LocalDateTime cutoff);
+}
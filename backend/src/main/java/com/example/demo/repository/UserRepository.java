@@ -1,11 +1,34 @@
 package com.example.demo.repository;
 
 import com.example.demo.model.User;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Both lookups run on every authenticated request, so their results are query-cached
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<User> findByUsername(String username);
-   
+
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
+
+    // Resolves the @mentions of one post in a single query
+    List<User> findByUsernameIn(Collection<String> usernames);
+
+    boolean existsByUsername(String username);
+
+    boolean existsByEmail(String email);
+
+    // Keyset pages for the availability filter: [id, username, email] rows after the given id
+    @Query("select u.id, u.username, u.email from User u where u.id > :afterId order by u.id")
+    List<Object[]> findNamesAfter(@Param("afterId") long afterId, Pageable page);
 }
@@ -0,0 +1,197 @@
+package com.example.demo.security;
+
+import com.example.demo.util.AimdLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Load shedding ahead of JWT verification. Each route group gets its own adaptive limit,
+// so a burst of uploads or logins cannot starve feed reads. Over the limit a request is
+// answered 503 with Retry-After straight away, before any token parsing or user lookup,
+// instead of queueing for a server thread or a database connection.
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+    enum Pool {
+        // initial, min, max limit and the latency (ms) above which a request counts as slow
+        UPLOAD(8, 2, 32, 30000),
+        FEED(100, 10, 400, 500),
+        AUTH(20, 4, 100, 1000),
+        QUIZ(50, 5, 200, 500),
+        DEFAULT(50, 5, 200, 1000);
+
+        final int initialLimit;
+        final int minLimit;
+        final int maxLimit;
+        final long latencyThresholdMs;
+
+        Pool(int initialLimit, int minLimit, int maxLimit, long latencyThresholdMs) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.latencyThresholdMs = latencyThresholdMs;
+        }
+
+        String key() {
+            return name().toLowerCase();
+        }
+    }
+
+    private final Map<Pool, AimdLimiter> limiters = new EnumMap<>(Pool.class);
+    private final Map<Pool, Counter> rejected = new EnumMap<>(Pool.class);
+    private final boolean enabled;
+    private final String retryAfterSeconds;
+
+    public ConcurrencyLimitFilter(MeterRegistry meterRegistry, Environment environment,
+                                  @Value("${skillhive.limits.enabled:true}") boolean enabled,
+                                  @Value("${skillhive.limits.backoff-ratio:0.9}") double backoffRatio,
+                                  @Value("${skillhive.limits.retry-after-seconds:1}") int retryAfterSeconds) {
+        this.enabled = enabled;
+        this.retryAfterSeconds = String.valueOf(retryAfterSeconds);
+        for (Pool pool : Pool.values()) {
+            // Any pool setting can be overridden, e.g. skillhive.limits.upload.max-limit
+            String prefix = "skillhive.limits." + pool.key() + ".";
+            AimdLimiter limiter = new AimdLimiter(
+                    environment.getProperty(prefix + "initial-limit", Integer.class, pool.initialLimit),
+                    environment.getProperty(prefix + "min-limit", Integer.class, pool.minLimit),
+                    environment.getProperty(prefix + "max-limit", Integer.class, pool.maxLimit),
+                    environment.getProperty(prefix + "latency-threshold-ms", Long.class, pool.latencyThresholdMs),
+                    backoffRatio);
+            limiters.put(pool, limiter);
+            Gauge.builder("skillhive.limits.limit", limiter, AimdLimiter::getLimit)
+                    .tag("pool", pool.key()).register(meterRegistry);
+            Gauge.builder("skillhive.limits.in_flight", limiter, AimdLimiter::getInFlight)
+                    .tag("pool", pool.key()).register(meterRegistry);
+            rejected.put(pool, Counter.builder("skillhive.limits.rejected")
+                    .tag("pool", pool.key()).register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Health probes and scrapes must keep answering under overload
+        return !enabled || request.getRequestURI().startsWith("/actuator/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Pool pool = poolFor(request);
+        AimdLimiter limiter = limiters.get(pool);
+        if (!limiter.tryAcquire()) {
+            rejected.get(pool).increment();
+            logger.debug("Shed {} {} ({} pool at limit {})", request.getMethod(), request.getRequestURI(),
+                    pool.key(), limiter.getLimit());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.getWriter().write("Server busy, retry shortly");
+            return;
+        }
+
+        Release release = new Release(limiter, System.nanoTime());
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Streaming responses hold the slot until the async request completes
+                request.getAsyncContext().addListener(release);
+            } else {
+                release.release(failed);
+            }
+        }
+    }
+
+    private static Pool poolFor(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        String method = request.getMethod();
+        if (path.startsWith("/auth/")) {
+            return Pool.AUTH;
+        }
+        if (path.startsWith("/api/uploads")) {
+            return Pool.UPLOAD;
+        }
+        if (path.startsWith("/api/posts")) {
+            // Creating and editing posts carries the multipart media
+            boolean write = "POST".equals(method) || "PUT".equals(method);
+            boolean postOrPostId = path.equals("/api/posts") || path.indexOf('/', "/api/posts/".length()) < 0;
+            return write && postOrPostId ? Pool.UPLOAD : Pool.FEED;
+        }
+        if (path.startsWith("/api/post-interactions")) {
+            return Pool.FEED;
+        }
+        if (path.startsWith("/api/quizzes") || path.startsWith("/api/questions") || path.startsWith("/api/leaderboards")) {
+            return Pool.QUIZ;
+        }
+        return Pool.DEFAULT;
+    }
+
+    // Returns the slot once, from the filter thread or from the async listener
+    private static final class Release implements AsyncListener {
+        private final AimdLimiter limiter;
+        private final long started;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Release(AimdLimiter limiter, long started) {
+            this.limiter = limiter;
+            this.started = started;
+        }
+
+        void release(boolean failed) {
+            if (released.compareAndSet(false, true)) {
+                limiter.release(System.nanoTime() - started, failed);
+            }
+        }
+
+        // A stream's duration says nothing about load, so only its outcome adjusts the limit
+        private void releaseAsync(boolean failed) {
+            if (released.compareAndSet(false, true)) {
+                limiter.release(0, failed);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            HttpServletResponse response = (HttpServletResponse) event.getSuppliedResponse();
+            releaseAsync(response != null && response.getStatus() >= 500);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            releaseAsync(true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            releaseAsync(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package com.example.demo.security;
 
+import com.example.demo.service.TokenRevocationService;
 import com.example.demo.service.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,10 +23,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsServiceImpl userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+    private final Timer verificationTimer;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsServiceImpl userDetailsService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsServiceImpl userDetailsService,
+                                   TokenRevocationService tokenRevocationService, MeterRegistry meterRegistry) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.verificationTimer = Timer.builder("skillhive.jwt.verification")
+                .description("Time spent parsing and validating bearer tokens")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
     @Override
@@ -34,17 +47,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String token = authHeader.substring(7);
-        String username = jwtUtil.extractUsername(token);
+        Timer.Sample sample = Timer.start();
+        Claims claims = null;
+        try {
+            // One parse checks signature and expiry and yields every claim needed below
+            claims = jwtUtil.parseClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            // Expired or invalid: continue unauthenticated, protected routes answer 401
+        } finally {
+            sample.stop(verificationTimer);
+        }
+        if (claims == null) {
+            chain.doFilter(request, response);
+            return;
+        }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        String username = claims.getSubject();
+        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null
+                && !tokenRevocationService.isRevoked(claims.getId(), username, claims.getIssuedAt())) {
             UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            if (jwtUtil.validateToken(token, username)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities()
-                );
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    userDetails, null, userDetails.getAuthorities()
+            );
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
         chain.doFilter(request, response);
     }
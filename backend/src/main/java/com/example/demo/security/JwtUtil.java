@@ -2,18 +2,24 @@ package com.example.demo.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
     private static final String SECRET_KEY = "your-256-bit-secret-your-256-bit-secret"; // Should be 256 bits (32 bytes) for HS256
-    private static final long EXPIRATION_TIME = 86400000; // 1 day
+
+    // Access tokens are short-lived; sessions continue through rotating refresh tokens
+    @Value("${skillhive.auth.access-token-minutes:15}")
+    private long accessTokenMinutes = 15;
 
     private Key getSigningKey() {
         return Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
@@ -24,8 +30,9 @@ public class JwtUtil {
         return Jwts.builder()
             .setClaims(extraClaims) // Add custom claims (e.g., role)
             .setSubject(username)   // Username as the subject
+            .setId(UUID.randomUUID().toString()) // jti, the key for revoking this one token
             .setIssuedAt(new Date())
-            .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
+            .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(accessTokenMinutes)))
             .signWith(getSigningKey(), SignatureAlgorithm.HS256)
             .compact();
     }
@@ -41,12 +48,20 @@ public class JwtUtil {
 
     // Extract a specific claim (e.g., role)
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        Claims claims = Jwts.parserBuilder()
+        return claimsResolver.apply(parseClaims(token));
+    }
+
+    // Verifies signature and expiry once; throws JwtException if either fails
+    public Claims parseClaims(String token) {
+        return Jwts.parserBuilder()
             .setSigningKey(getSigningKey())
             .build()
             .parseClaimsJws(token)
             .getBody();
-        return claimsResolver.apply(claims);
+    }
+
+    public long getAccessTokenMinutes() {
+        return accessTokenMinutes;
     }
 
     // Optional: Helper method to extract role specifically
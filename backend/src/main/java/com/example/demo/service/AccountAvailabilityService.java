@@ -0,0 +1,144 @@
+package com.example.demo.service;
+
+import com.example.demo.model.User;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Answers "is this username / email free?" while a signup form is being typed. Taken
+// names live in a bloom filter, so a free name (the usual answer) is confirmed without a
+// query; only a possible hit is checked against MySQL. Registrations on this instance are
+// added immediately and other instances' are picked up by id every refresh-ms. The answer
+// is advisory: the unique keys on users still decide at registration.
+//
+// Loading reads users in short keyset pages, with no transaction held across the scan, into
+// a filter that is published through a volatile field once complete. Only the startup and
+// scheduler threads take maintenanceLock; request threads never wait on it.
+@Service
+public class AccountAvailabilityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountAvailabilityService.class);
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+    // Ids are assigned at insert but can commit out of order; re-reading a few behind the
+    // last seen id catches the stragglers
+    private static final long ID_OVERLAP = 100;
+    private static final int PAGE_SIZE = 1000;
+
+    private final UserRepository userRepository;
+    private final int expectedUsers;
+    private final Counter databaseChecks;
+    private final ReentrantLock maintenanceLock = new ReentrantLock();
+    private volatile BloomFilter filter;
+    private long lastUserId; // guarded by maintenanceLock
+    private int capacity; // guarded by maintenanceLock
+    private int size; // guarded by maintenanceLock
+
+    public AccountAvailabilityService(UserRepository userRepository, MeterRegistry meterRegistry,
+                                      @Value("${skillhive.auth.availability.expected-users:100000}") int expectedUsers) {
+        this.userRepository = userRepository;
+        this.expectedUsers = expectedUsers;
+        this.databaseChecks = Counter.builder("skillhive.auth.availability.database_checks").register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        maintenanceLock.lock();
+        try {
+            // Sized for twice the current users so the false-positive rate holds while signups come in
+            long users = userRepository.count();
+            capacity = (int) Math.min(Integer.MAX_VALUE, Math.max(expectedUsers, 2 * users));
+            BloomFilter loaded = new BloomFilter(capacity, FALSE_POSITIVE_RATE);
+            size = 0;
+            lastUserId = 0;
+            addUsersAfter(loaded, 0);
+            filter = loaded;
+            logger.info("Availability filter loaded with {} users", size);
+        } finally {
+            maintenanceLock.unlock();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${skillhive.auth.availability.refresh-ms:30000}",
+            fixedDelayString = "${skillhive.auth.availability.refresh-ms:30000}")
+    public void refresh() {
+        BloomFilter current = filter;
+        if (current == null) {
+            return;
+        }
+        maintenanceLock.lock();
+        try {
+            if (size > capacity) {
+                load();
+                return;
+            }
+            addUsersAfter(current, Math.max(0, lastUserId - ID_OVERLAP));
+        } finally {
+            maintenanceLock.unlock();
+        }
+    }
+
+    public boolean isUsernameAvailable(String username) {
+        return !mightBeTaken(usernameKey(username)) || !userRepository.existsByUsername(username);
+    }
+
+    public boolean isEmailAvailable(String email) {
+        return !mightBeTaken(emailKey(email)) || !userRepository.existsByEmail(email);
+    }
+
+    public void registered(User user) {
+        BloomFilter current = filter;
+        if (current != null) {
+            current.add(usernameKey(user.getUsername()));
+            current.add(emailKey(user.getEmail()));
+        }
+    }
+
+    // Before the first load every name goes to the database
+    private boolean mightBeTaken(String key) {
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(key)) {
+            return false;
+        }
+        databaseChecks.increment();
+        return true;
+    }
+
+    private void addUsersAfter(BloomFilter target, long afterId) {
+        List<Object[]> page;
+        do {
+            page = userRepository.findNamesAfter(afterId, PageRequest.of(0, PAGE_SIZE));
+            for (Object[] row : page) {
+                long id = (Long) row[0];
+                target.add(usernameKey((String) row[1]));
+                target.add(emailKey((String) row[2]));
+                if (id > lastUserId) {
+                    lastUserId = id;
+                    size++;
+                }
+                afterId = id;
+            }
+        } while (page.size() == PAGE_SIZE);
+    }
+
+    // MySQL's default collation compares case-insensitively, so the filter does too
+    private static String usernameKey(String username) {
+        return "username:" + username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String emailKey(String email) {
+        return "email:" + email.trim().toLowerCase(Locale.ROOT);
+    }
+}
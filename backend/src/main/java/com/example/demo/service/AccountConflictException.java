@@ -0,0 +1,19 @@
+package com.example.demo.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Thrown when registration hits the unique key on username or email
+@ResponseStatus(HttpStatus.CONFLICT)
+public class AccountConflictException extends RuntimeException {
+    private final String field; // "username" or "email"
+
+    public AccountConflictException(String field, String message) {
+        super(message);
+        this.field = field;
+    }
+
+    public String getField() {
+        return field;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Question;
+import com.example.demo.repository.QuestionRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Immutable per-quiz answer keys used for grading. A snapshot is loaded once from
+// MySQL and replaced wholesale when a question of that quiz changes. The number of
+// cached keys is capped; the least recently used quizzes are reloaded on demand.
+@Component
+public class AnswerKeyCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnswerKeyCache.class);
+
+    private final QuestionRepository questionRepository;
+
+    private final Map<Long, AnswerKey> keys;
+    // Bumped on every invalidation so a load that raced with an update is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public AnswerKeyCache(QuestionRepository questionRepository,
+                          @Value("${quiz.answer-keys.max-size:10000}") long maxSize) {
+        this.questionRepository = questionRepository;
+        this.keys = Caffeine.newBuilder().maximumSize(maxSize).<Long, AnswerKey>build().asMap();
+    }
+
+    // The cached key, or null when it has not been loaded
+    public AnswerKey getIfPresent(Long quizId) {
+        return keys.get(quizId);
+    }
+
+    public AnswerKey get(Long quizId) {
+        AnswerKey key = keys.get(quizId);
+        if (key != null) {
+            return key;
+        }
+        long observed = generation.get();
+        AnswerKey loaded = AnswerKey.of(questionRepository.findByQuizId(quizId));
+        logger.info("Loaded answer key for quiz {} with {} questions", quizId, loaded.size());
+        if (generation.get() != observed) {
+            return loaded;
+        }
+        AnswerKey existing = keys.putIfAbsent(quizId, loaded);
+        if (existing == null && generation.get() != observed) {
+            // An invalidation slipped in between the check and the put
+            keys.remove(quizId, loaded);
+        }
+        return existing != null ? existing : loaded;
+    }
+
+    public void invalidate(Long quizId) {
+        if (quizId == null) {
+            return;
+        }
+        generation.incrementAndGet();
+        if (keys.remove(quizId) != null) {
+            logger.info("Invalidated answer key for quiz {}", quizId);
+        }
+    }
+
+    // Normalizes answers so grading ignores case and surrounding whitespace
+    static String normalize(String answer) {
+        return answer == null ? "" : answer.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public static final class AnswerKey {
+        private final Map<Long, String> answers;
+
+        private AnswerKey(Map<Long, String> answers) {
+            this.answers = Map.copyOf(answers);
+        }
+
+        static AnswerKey of(List<Question> questions) {
+            Map<Long, String> answers = new HashMap<>();
+            for (Question question : questions) {
+                answers.put(question.getId(), normalize(question.getAnswer()));
+            }
+            return new AnswerKey(answers);
+        }
+
+        public int size() {
+            return answers.size();
+        }
+
+        // Counts submitted answers that match the key; unknown question ids are ignored
+        public int grade(Map<Long, String> submitted) {
+            int score = 0;
+            for (Map.Entry<Long, String> entry : submitted.entrySet()) {
+                String expected = answers.get(entry.getKey());
+                if (expected != null && expected.equals(normalize(entry.getValue()))) {
+                    score++;
+                }
+            }
+            return score;
+        }
+    }
+}
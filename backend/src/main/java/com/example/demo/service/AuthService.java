@@ -1,38 +1,71 @@
 package com.example.demo.service;
 
+import com.example.demo.config.ReadYourWritesInterceptor;
+import com.example.demo.model.RefreshToken;
 import com.example.demo.model.User;
+import com.example.demo.repository.RefreshTokenRepository;
 import com.example.demo.repository.UserRepository;
 import com.example.demo.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
 import java.util.Map;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "skillhive.service", histogram = true)
 public class AuthService {
 
+    private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
+    private static final SecureRandom RANDOM = new SecureRandom();
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenRevocationService tokenRevocationService;
+    private final AccountAvailabilityService accountAvailabilityService;
+    private final ReadYourWritesInterceptor readYourWritesInterceptor;
+
+    @Value("${skillhive.auth.refresh-token-days:14}")
+    private long refreshTokenDays;
 
+    // One insert: the unique keys on users reject a taken username or email, even when two
+    // signups race, so there is no check-then-insert window and no lookups up front
     public Map<String, String> register(User user) {
-        if (userRepository.findByUsername(user.getUsername()).isPresent()) {
-            throw new RuntimeException("Username already exists!");
-        }
-        if (userRepository.findByEmail(user.getEmail()).isPresent()) {
-            throw new RuntimeException("Email already exists!");
-        }
         user.setPassword(passwordEncoder.encode(user.getPassword()));
         // Default role if not provided
         if (user.getRole() == null) {
             user.setRole(User.Role.USER);
         }
-        userRepository.save(user);
+        try {
+            userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw conflict(user, e);
+        }
+        accountAvailabilityService.registered(user);
         return Map.of("message", "User registered successfully");
     }
 
@@ -50,7 +83,104 @@ public class AuthService {
             .orElseGet(() -> userRepository.findByUsername(loginIdentifier)
                 .orElseThrow(() -> new RuntimeException("User not found")));
         
-        String token = jwtUtil.generateToken(dbUser.getUsername(), Map.of("role", dbUser.getRole().name()));
-        return Map.of("token", token);
+        // Each login starts a new refresh token family
+        return issueTokens(dbUser, UUID.randomUUID().toString());
+    }
+
+    // Rotates the refresh token: the presented one is spent and a new pair is returned.
+    // Replaying a spent token revokes its family, ending the session for whoever holds it.
+    @Transactional(noRollbackFor = InvalidTokenException.class)
+    public Map<String, String> refresh(String presented) {
+        if (presented == null || presented.isBlank()) {
+            throw new InvalidTokenException("Refresh token is required");
+        }
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(presented))
+            .orElseThrow(() -> new InvalidTokenException("Unknown refresh token"));
+        if (current.isRevoked() || current.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new InvalidTokenException("Refresh token expired or revoked");
+        }
+        if (refreshTokenRepository.markUsed(current.getId()) == 0) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId());
+            logger.warn("Refresh token reuse for user {}, session revoked", current.getUsername());
+            throw new InvalidTokenException("Refresh token already used");
+        }
+        User dbUser = userRepository.findByUsername(current.getUsername())
+            .orElseThrow(() -> new InvalidTokenException("User not found"));
+        return issueTokens(dbUser, current.getFamilyId());
+    }
+
+    // Ends one session: its access token goes on the deny list, its refresh family is revoked
+    @Transactional
+    public void logout(String accessToken, String refreshToken) {
+        if (accessToken != null) {
+            try {
+                Claims claims = jwtUtil.parseClaims(accessToken);
+                tokenRevocationService.revokeToken(claims.getId(), claims.getSubject(), claims.getExpiration());
+            } catch (JwtException | IllegalArgumentException e) {
+                // Already unusable, nothing to revoke
+            }
+        }
+        if (refreshToken != null) {
+            refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId()));
+        }
+    }
+
+    // Ends every session of the user; also the call to make after a password change
+    @Transactional
+    public void logoutAll(String username) {
+        refreshTokenRepository.revokeAllForUser(username);
+        tokenRevocationService.revokeUser(username);
+    }
+
+    // Spent tokens are kept until expiry so replays are still recognised
+    @Scheduled(fixedDelayString = "${skillhive.auth.refresh-token-purge-ms:3600000}")
+    @Transactional
+    public void purgeExpiredRefreshTokens() {
+        refreshTokenRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    private Map<String, String> issueTokens(User user, String familyId) {
+        String token = jwtUtil.generateToken(user.getUsername(), Map.of("role", user.getRole().name()));
+        byte[] secret = new byte[32];
+        RANDOM.nextBytes(secret);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.save(new RefreshToken(null, hash(refreshToken), familyId, user.getUsername(),
+            false, false, now, now.plusDays(refreshTokenDays)));
+        // Login and refresh are anonymous requests; the session they start should still
+        // read its own writes
+        readYourWritesInterceptor.recordWrite(user.getUsername());
+        return Map.of("token", token, "refreshToken", refreshToken);
+    }
+
+    private AccountConflictException conflict(User user, DataIntegrityViolationException e) {
+        String constraint = e.getCause() instanceof ConstraintViolationException violation
+            ? violation.getConstraintName() : null;
+        String field = constraint == null ? null
+            : constraint.endsWith(User.USERNAME_CONSTRAINT) ? "username"
+            : constraint.endsWith(User.EMAIL_CONSTRAINT) ? "email" : null;
+        if (field == null) {
+            // Keys created before they were named have generated names; look up which value is taken
+            field = userRepository.existsByUsername(user.getUsername()) ? "username"
+                : userRepository.existsByEmail(user.getEmail()) ? "email" : null;
+        }
+        if ("username".equals(field)) {
+            return new AccountConflictException(field, "Username already exists!");
+        }
+        if ("email".equals(field)) {
+            return new AccountConflictException(field, "Email already exists!");
+        }
+        throw e;
+    }
+
+    // Only digests are stored, so a leaked table cannot be replayed
+    private static String hash(String refreshToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(refreshToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
\ No newline at end of file
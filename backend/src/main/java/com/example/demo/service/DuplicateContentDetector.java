@@ -0,0 +1,162 @@
+package com.example.demo.service;
+
+import com.example.demo.util.SimHash;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Near-duplicate screening for new posts and comments. Each text becomes a SimHash
+// fingerprint, looked up among the fingerprints seen within the window. The lookup is a
+// multi-index: the 64 bits are split into 8 blocks of 8 bits with one table per block, and
+// two fingerprints within distance 7 agree exactly on at least one block (pigeonhole), so
+// only the entries sharing a block value are compared. Entries leave by age and by count.
+@Service
+public class DuplicateContentDetector {
+
+    private static final Logger logger = LoggerFactory.getLogger(DuplicateContentDetector.class);
+    private static final int BLOCKS = 8;
+    private static final int BLOCK_BITS = 64 / BLOCKS;
+
+    public enum Action {
+        OFF, FLAG, REJECT
+    }
+
+    private final Action action;
+    private final int maxDistance;
+    private final int minWords;
+    private final long windowNanos;
+    private final int maxEntries;
+    private final ArrayDeque<Entry> entries = new ArrayDeque<>(); // Oldest first
+    private final List<Map<Integer, ArrayDeque<Entry>>> tables = new ArrayList<>(BLOCKS);
+    private final MeterRegistry meterRegistry;
+    private final Timer lookupTimer;
+
+    public DuplicateContentDetector(MeterRegistry meterRegistry,
+                                    @Value("${skillhive.duplicates.action:FLAG}") Action action,
+                                    @Value("${skillhive.duplicates.max-distance:7}") int maxDistance,
+                                    @Value("${skillhive.duplicates.min-words:6}") int minWords,
+                                    @Value("${skillhive.duplicates.window-minutes:60}") long windowMinutes,
+                                    @Value("${skillhive.duplicates.max-entries:100000}") int maxEntries) {
+        if (maxDistance < 0 || maxDistance >= BLOCKS) {
+            throw new IllegalArgumentException("skillhive.duplicates.max-distance must be between 0 and " + (BLOCKS - 1));
+        }
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("skillhive.duplicates.max-entries must be positive");
+        }
+        this.meterRegistry = meterRegistry;
+        this.action = action;
+        this.maxDistance = maxDistance;
+        this.minWords = minWords;
+        this.windowNanos = Duration.ofMinutes(windowMinutes).toNanos();
+        this.maxEntries = maxEntries;
+        for (int i = 0; i < BLOCKS; i++) {
+            tables.add(new HashMap<>());
+        }
+        this.lookupTimer = Timer.builder("skillhive.duplicates.lookup").register(meterRegistry);
+        meterRegistry.gauge("skillhive.duplicates.entries", entries, ArrayDeque::size);
+    }
+
+    // True when the text should be stored flagged; throws when the policy rejects it.
+    // Short texts ("thanks!", "+1") repeat legitimately and are not screened.
+    public boolean screen(String text, String kind) {
+        if (action == Action.OFF) {
+            return false;
+        }
+        List<String> words = SimHash.words(text);
+        if (words.size() < minWords) {
+            return false;
+        }
+        long fingerprint = SimHash.fingerprint(words);
+        long started = System.nanoTime();
+        int distance;
+        synchronized (this) {
+            evict(started);
+            distance = nearest(fingerprint);
+            if (distance > maxDistance || action == Action.FLAG) {
+                add(new Entry(fingerprint, started));
+            }
+        }
+        lookupTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        if (distance > maxDistance) {
+            return false;
+        }
+        Counter.builder("skillhive.duplicates.detected")
+                .tag("kind", kind)
+                .tag("action", action.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry)
+                .increment();
+        logger.warn("Near-duplicate {} detected (distance {}), action {}", kind, distance, action);
+        if (action == Action.REJECT) {
+            throw new DuplicateContentException("This " + kind + " looks like a copy of recent content");
+        }
+        return true;
+    }
+
+    // Smallest distance to a fingerprint sharing a block, or Integer.MAX_VALUE
+    private int nearest(long fingerprint) {
+        int best = Integer.MAX_VALUE;
+        for (int block = 0; block < BLOCKS; block++) {
+            ArrayDeque<Entry> candidates = tables.get(block).get(blockValue(fingerprint, block));
+            if (candidates == null) {
+                continue;
+            }
+            for (Entry candidate : candidates) {
+                best = Math.min(best, SimHash.distance(fingerprint, candidate.fingerprint));
+                if (best == 0) {
+                    return 0;
+                }
+            }
+        }
+        return best;
+    }
+
+    private void add(Entry entry) {
+        // Room is made only when adding, so lookups compare against all maxEntries entries
+        while (entries.size() >= maxEntries) {
+            removeOldest();
+        }
+        entries.addLast(entry);
+        for (int block = 0; block < BLOCKS; block++) {
+            tables.get(block).computeIfAbsent(blockValue(entry.fingerprint, block), k -> new ArrayDeque<>()).addLast(entry);
+        }
+    }
+
+    private void evict(long now) {
+        while (!entries.isEmpty() && now - entries.peekFirst().seenAt > windowNanos) {
+            removeOldest();
+        }
+    }
+
+    private void removeOldest() {
+        Entry oldest = entries.pollFirst();
+        for (int block = 0; block < BLOCKS; block++) {
+            int value = blockValue(oldest.fingerprint, block);
+            ArrayDeque<Entry> bucket = tables.get(block).get(value);
+            // Entries are added in time order, so the oldest of a bucket is at its front
+            bucket.pollFirst();
+            if (bucket.isEmpty()) {
+                tables.get(block).remove(value);
+            }
+        }
+    }
+
+    private static int blockValue(long fingerprint, int block) {
+        return (int) ((fingerprint >>> (block * BLOCK_BITS)) & ((1 << BLOCK_BITS) - 1));
+    }
+
+    private record Entry(long fingerprint, long seenAt) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.demo.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Thrown when a post or comment is a near-copy of recent content and the policy is REJECT
+@ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+public class DuplicateContentException extends RuntimeException {
+    public DuplicateContentException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.demo.service;
+
+import com.example.demo.model.LeaderboardEntry;
+import com.example.demo.model.LeaderboardStanding;
+import com.example.demo.util.RankedSkipList;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
+
+// One ranked board: higher score first, then shorter completion time, then user id.
+// Reads share a lock, so page and rank lookups run in parallel between updates.
+public class Leaderboard {
+
+    public static final Comparator<LeaderboardEntry> ORDER = Comparator
+            .comparingLong(LeaderboardEntry::getScore).reversed()
+            .thenComparingLong(LeaderboardEntry::getDurationMillis)
+            .thenComparing(LeaderboardEntry::getUserId);
+
+    private final RankedSkipList<LeaderboardEntry> ranking = new RankedSkipList<>(ORDER);
+    private final Map<Long, LeaderboardEntry> byUser = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Replaces the user's entry with updater(current) and returns the previous entry.
+    // Returning the same instance from the updater leaves the board untouched.
+    public LeaderboardEntry update(Long userId, UnaryOperator<LeaderboardEntry> updater) {
+        lock.writeLock().lock();
+        try {
+            LeaderboardEntry current = byUser.get(userId);
+            LeaderboardEntry next = updater.apply(current);
+            if (next != current) {
+                if (current != null) {
+                    ranking.remove(current);
+                }
+                ranking.insert(next);
+                byUser.put(userId, next);
+            }
+            return current;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<LeaderboardStanding> standingOf(Long userId) {
+        lock.readLock().lock();
+        try {
+            LeaderboardEntry entry = byUser.get(userId);
+            if (entry == null) {
+                return Optional.empty();
+            }
+            return Optional.of(toStanding(ranking.rank(entry), entry));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<LeaderboardStanding> page(int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            List<LeaderboardEntry> entries = ranking.range(offset, limit);
+            List<LeaderboardStanding> standings = new ArrayList<>(entries.size());
+            for (int i = 0; i < entries.size(); i++) {
+                standings.add(toStanding(offset + i + 1, entries.get(i)));
+            }
+            return standings;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ranking.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static LeaderboardStanding toStanding(long rank, LeaderboardEntry entry) {
+        return new LeaderboardStanding(rank, entry.getUserId(), entry.getScore(), entry.getDurationMillis());
+    }
+}
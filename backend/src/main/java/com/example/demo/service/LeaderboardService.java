@@ -0,0 +1,94 @@
+package com.example.demo.service;
+
+import com.example.demo.model.LeaderboardEntry;
+import com.example.demo.model.LeaderboardStanding;
+import com.example.demo.model.QuizAttempt;
+import com.example.demo.repository.QuizAttemptRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// In-memory leaderboards fed by graded attempts. Each quiz board keeps a user's best
+// attempt; the global board ranks users by the sum of their per-quiz bests.
+@Service
+public class LeaderboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardService.class);
+
+    @Autowired
+    private QuizAttemptRepository attemptRepo;
+
+    private final Map<Long, Leaderboard> quizBoards = new ConcurrentHashMap<>();
+    private final Leaderboard globalBoard = new Leaderboard();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        logger.info("Rebuilding leaderboards from persisted quiz attempts");
+        AtomicLong count = new AtomicLong();
+        try (Stream<QuizAttempt> attempts = attemptRepo.streamAllBy()) {
+            attempts.forEach(attempt -> {
+                record(attempt);
+                count.incrementAndGet();
+            });
+        }
+        logger.info("Rebuilt leaderboards from {} attempts across {} quizzes", count.get(), quizBoards.size());
+    }
+
+    public void record(QuizAttempt attempt) {
+        LeaderboardEntry candidate = new LeaderboardEntry(attempt.getUserId(), attempt.getScore(), attempt.getDurationMillis());
+        Leaderboard board = quizBoards.computeIfAbsent(attempt.getQuizId(), id -> new Leaderboard());
+        LeaderboardEntry previous = board.update(attempt.getUserId(),
+                current -> current == null || Leaderboard.ORDER.compare(candidate, current) < 0 ? candidate : current);
+
+        boolean improved = previous == null || Leaderboard.ORDER.compare(candidate, previous) < 0;
+        if (!improved) {
+            return;
+        }
+        long scoreDelta = candidate.getScore() - (previous == null ? 0 : previous.getScore());
+        long durationDelta = candidate.getDurationMillis() - (previous == null ? 0 : previous.getDurationMillis());
+        globalBoard.update(attempt.getUserId(), current -> current == null
+                ? new LeaderboardEntry(attempt.getUserId(), scoreDelta, durationDelta)
+                : new LeaderboardEntry(attempt.getUserId(), current.getScore() + scoreDelta,
+                        current.getDurationMillis() + durationDelta));
+    }
+
+    public Page<LeaderboardStanding> getQuizLeaderboard(Long quizId, int page, int size) {
+        Leaderboard board = quizBoards.get(quizId);
+        if (board == null) {
+            return Page.empty(PageRequest.of(page, size));
+        }
+        return toPage(board, page, size);
+    }
+
+    public Optional<LeaderboardStanding> getQuizStanding(Long quizId, Long userId) {
+        Leaderboard board = quizBoards.get(quizId);
+        return board == null ? Optional.empty() : board.standingOf(userId);
+    }
+
+    public Page<LeaderboardStanding> getGlobalLeaderboard(int page, int size) {
+        return toPage(globalBoard, page, size);
+    }
+
+    public Optional<LeaderboardStanding> getGlobalStanding(Long userId) {
+        return globalBoard.standingOf(userId);
+    }
+
+    private static Page<LeaderboardStanding> toPage(Leaderboard board, int page, int size) {
+        PageRequest pageable = PageRequest.of(page, size);
+        return new PageImpl<>(board.page((int) pageable.getOffset(), size), pageable, board.size());
+    }
+}
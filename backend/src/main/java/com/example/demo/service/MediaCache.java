@@ -0,0 +1,109 @@
+package com.example.demo.service;
+
+import com.example.demo.util.ByteBufferResource;
+import com.example.demo.util.UploadDirectory;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Hot media served from memory. Small files are held in direct ByteBuffers (off the Java
+// heap, so they add nothing to GC work) together with their content type and length;
+// larger files only have their metadata cached and are streamed from disk. Caffeine's
+// W-TinyLFU policy keeps the frequently requested images and lets one-off requests pass
+// through. Stored media names are unique, so an entry only changes when the file is removed.
+@Service
+public class MediaCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(MediaCache.class);
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    private final UploadDirectory uploadDirectory;
+    private final Cache<String, CachedMedia> cache;
+    private final long maxEntryBytes;
+
+    public MediaCache(UploadDirectory uploadDirectory, MeterRegistry meterRegistry,
+                      @Value("${skillhive.media-cache.max-bytes:67108864}") long maxBytes,
+                      @Value("${skillhive.media-cache.max-entry-bytes:1048576}") long maxEntryBytes) {
+        this.uploadDirectory = uploadDirectory;
+        this.maxEntryBytes = maxEntryBytes;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String name, CachedMedia media) -> media.weight())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "media");
+    }
+
+    // The cached media for a stored file name, loading it on a miss; null when there is no such file.
+    // Loading inside cache.get makes concurrent misses share one disk read and orders the
+    // load against invalidate, so a file removed mid-load is not put back into the cache.
+    public CachedMedia get(String filename) throws IOException {
+        Path filePath = uploadDirectory.resolve(filename);
+        if (filePath == null) {
+            throw new IllegalArgumentException("Invalid file path: " + filename);
+        }
+        try {
+            return cache.get(filename, name -> {
+                try {
+                    return load(filePath);
+                } catch (NoSuchFileException e) {
+                    return null; // not cached
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public void invalidate(String filename) {
+        cache.invalidate(filename);
+    }
+
+    private CachedMedia load(Path filePath) throws IOException {
+        String contentType = Files.probeContentType(filePath);
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length > maxEntryBytes) {
+                return new CachedMedia(filePath, contentType, length, null);
+            }
+            ByteBuffer data = ByteBuffer.allocateDirect((int) length);
+            while (data.hasRemaining() && channel.read(data) != -1) {
+                // read until the buffer is full
+            }
+            data.flip();
+            logger.debug("Cached {} ({} bytes) off-heap", filePath.getFileName(), length);
+            return new CachedMedia(filePath, contentType, data.remaining(), data);
+        }
+    }
+
+    public record CachedMedia(Path path, String contentType, long length, ByteBuffer data) {
+
+        // Served from memory when the bytes are cached, otherwise from disk
+        public Resource resource() {
+            return data != null ? new ByteBufferResource(data, path.getFileName().toString()) : new FileSystemResource(path);
+        }
+
+        int weight() {
+            long bytes = ENTRY_OVERHEAD_BYTES + (data != null ? data.capacity() : 0);
+            return (int) Math.min(Integer.MAX_VALUE, bytes);
+        }
+    }
+}
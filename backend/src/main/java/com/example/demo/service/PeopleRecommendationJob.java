@@ -0,0 +1,205 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Post;
+import com.example.demo.model.Skill;
+import com.example.demo.model.UserRecommendations;
+import com.example.demo.util.CoOccurrenceRecommender;
+import com.example.demo.util.IntAdjacency;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+// Batch job behind "people you may know". Streams skills and posts once, maps users and
+// items (skill categories, skill titles, each post's likers, each post's commenters) to
+// dense ints, scores user pairs by shared items with CoOccurrenceRecommender and replaces
+// the stored top-k lists in user_recommendations. Lists not rewritten by a run belong to
+// users with no signal left and are removed.
+@Service
+public class PeopleRecommendationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(PeopleRecommendationJob.class);
+    private static final float CATEGORY_WEIGHT = 0.5f;
+    private static final float TITLE_WEIGHT = 2f;
+    private static final float LIKE_WEIGHT = 1f;
+    private static final float COMMENT_WEIGHT = 1.5f;
+    private static final int WRITE_BATCH_SIZE = 1000;
+
+    private final MongoTemplate mongoTemplate;
+    private final int topK;
+    private final int maxItemUsers;
+    private final int parallelism;
+    private final Timer runTimer;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public PeopleRecommendationJob(MongoTemplate mongoTemplate, MeterRegistry meterRegistry,
+                                   @Value("${skillhive.recommendations.top-k:20}") int topK,
+                                   @Value("${skillhive.recommendations.max-item-users:1000}") int maxItemUsers,
+                                   @Value("${skillhive.recommendations.parallelism:0}") int parallelism) {
+        this.mongoTemplate = mongoTemplate;
+        this.topK = topK;
+        this.maxItemUsers = maxItemUsers;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.runTimer = Timer.builder("skillhive.recommendations.run").register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${skillhive.recommendations.initial-delay-ms:300000}",
+            fixedDelayString = "${skillhive.recommendations.interval-ms:21600000}")
+    public void run() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        Timer.Sample sample = Timer.start();
+        try {
+            compute();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            logger.warn("Recommendation run failed: {}", e.getMessage(), e);
+        } finally {
+            sample.stop(runTimer);
+            running.set(false);
+        }
+    }
+
+    private void compute() throws InterruptedException {
+        LocalDateTime started = LocalDateTime.now();
+        Graph graph = new Graph();
+
+        Query skills = new Query();
+        skills.fields().include("userId", "category", "title");
+        try (Stream<Skill> stream = mongoTemplate.stream(skills, Skill.class)) {
+            stream.forEach(skill -> {
+                if (skill.getUserId() == null) {
+                    return;
+                }
+                int user = graph.user(skill.getUserId());
+                graph.link(user, "category:", skill.getCategory(), CATEGORY_WEIGHT);
+                graph.link(user, "title:", skill.getTitle(), TITLE_WEIGHT);
+            });
+        }
+
+        Query posts = Query.query(Criteria.where("deleted").ne(true));
+        posts.fields().include("likes", "comments.creatorId");
+        try (Stream<Post> stream = mongoTemplate.stream(posts, Post.class)) {
+            stream.forEach(post -> {
+                // Posts are seen once, so their items need no lookup map
+                if (post.getLikes() != null && post.getLikes().size() > 1) {
+                    int likeItem = graph.newItem(LIKE_WEIGHT);
+                    post.getLikes().forEach(liker -> graph.edges.add(graph.user(liker), likeItem));
+                }
+                if (post.getComments() != null && post.getComments().size() > 1) {
+                    int commentItem = graph.newItem(COMMENT_WEIGHT);
+                    for (Post.Comment comment : post.getComments()) {
+                        if (comment.getCreatorId() != null) {
+                            graph.edges.add(graph.user(comment.getCreatorId()), commentItem);
+                        }
+                    }
+                }
+            });
+        }
+        long loaded = System.nanoTime();
+
+        int users = graph.userIds.size();
+        CoOccurrenceRecommender recommender = new CoOccurrenceRecommender(
+                graph.edges.build(users), Arrays.copyOf(graph.itemWeights, graph.items), topK, maxItemUsers);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        CoOccurrenceRecommender.Result result;
+        try {
+            result = recommender.run(pool);
+        } finally {
+            pool.shutdown();
+        }
+        long scored = System.nanoTime();
+
+        long written = store(graph.userIds, result, started);
+        long removed = mongoTemplate.remove(Query.query(Criteria.where("computedAt").lt(started)),
+                UserRecommendations.class).getDeletedCount();
+        logger.info("Recommendations: {} users, {} items, {} edges; scored in {} ms, {} lists written, {} removed",
+                users, graph.items, graph.edges.size(), (scored - loaded) / 1_000_000, written, removed);
+    }
+
+    private long store(List<String> userIds, CoOccurrenceRecommender.Result result, LocalDateTime computedAt) {
+        long written = 0;
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserRecommendations.class);
+        int pending = 0;
+        for (int user = 0; user < userIds.size(); user++) {
+            List<UserRecommendations.Recommendation> recommendations = new ArrayList<>();
+            for (int slot = user * topK; slot < (user + 1) * topK && result.users()[slot] >= 0; slot++) {
+                UserRecommendations.Recommendation recommendation = new UserRecommendations.Recommendation();
+                recommendation.setUserId(userIds.get(result.users()[slot]));
+                recommendation.setScore(Math.round(result.scores()[slot] * 1000) / 1000.0);
+                recommendations.add(recommendation);
+            }
+            if (recommendations.isEmpty()) {
+                continue;
+            }
+            bulk.upsert(Query.query(Criteria.where("userId").is(userIds.get(user))),
+                    new Update().set("recommendations", recommendations).set("computedAt", computedAt));
+            written++;
+            if (++pending == WRITE_BATCH_SIZE) {
+                bulk.execute();
+                bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserRecommendations.class);
+                pending = 0;
+            }
+        }
+        if (pending > 0) {
+            bulk.execute();
+        }
+        return written;
+    }
+
+    // Dense int ids for users and items while the sources are streamed
+    private static final class Graph {
+        final Map<String, Integer> userIndex = new HashMap<>();
+        final List<String> userIds = new ArrayList<>();
+        final Map<String, Integer> skillItems = new HashMap<>();
+        final IntAdjacency.Builder edges = new IntAdjacency.Builder();
+        float[] itemWeights = new float[1024];
+        int items;
+
+        int user(String userId) {
+            return userIndex.computeIfAbsent(userId, id -> {
+                userIds.add(id);
+                return userIds.size() - 1;
+            });
+        }
+
+        int newItem(float weight) {
+            if (items == itemWeights.length) {
+                itemWeights = Arrays.copyOf(itemWeights, items * 2);
+            }
+            itemWeights[items] = weight;
+            return items++;
+        }
+
+        // Skill categories and titles match case- and spacing-insensitively
+        void link(int user, String kind, String value, float weight) {
+            if (value == null || value.isBlank()) {
+                return;
+            }
+            String key = kind + value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+            int item = skillItems.computeIfAbsent(key, k -> newItem(weight));
+            edges.add(user, item);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Post;
+import com.example.demo.model.PostInteraction;
+import com.example.demo.model.UploadSession;
+import com.example.demo.util.UploadDirectory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Background half of post deletion. Each run takes the oldest tombstoned posts and, per
+// post, deletes its interactions in id batches, its media files and attached upload
+// sessions, and last the post document itself. Every step is safe to repeat, and the
+// tombstone stays until the end, so a crash or a second instance just redoes a step.
+// A post that fails is retried after a delay that doubles with each failure, and until
+// then it is skipped, so it cannot keep newer tombstones out of the batch.
+@Service
+public class PostCleanupJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostCleanupJob.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final UploadDirectory uploadDirectory;
+    private final MediaCache mediaCache;
+    private final int postsPerRun;
+    private final int interactionBatchSize;
+    private final long retryBaseMillis;
+    private final long retryMaxMillis;
+    private final Counter postsRemoved;
+    private final Counter interactionsRemoved;
+    private final Counter mediaRemoved;
+    private final Counter failures;
+    private final Timer runTimer;
+    private final AtomicLong backlog = new AtomicLong();
+
+    public PostCleanupJob(MongoTemplate mongoTemplate, UploadDirectory uploadDirectory, MediaCache mediaCache,
+                          MeterRegistry meterRegistry,
+                          @Value("${skillhive.cleanup.posts-per-run:50}") int postsPerRun,
+                          @Value("${skillhive.cleanup.interaction-batch-size:1000}") int interactionBatchSize,
+                          @Value("${skillhive.cleanup.retry-base-ms:60000}") long retryBaseMillis,
+                          @Value("${skillhive.cleanup.retry-max-ms:3600000}") long retryMaxMillis) {
+        this.mongoTemplate = mongoTemplate;
+        this.uploadDirectory = uploadDirectory;
+        this.mediaCache = mediaCache;
+        this.postsPerRun = postsPerRun;
+        this.interactionBatchSize = interactionBatchSize;
+        this.retryBaseMillis = retryBaseMillis;
+        this.retryMaxMillis = retryMaxMillis;
+        this.postsRemoved = Counter.builder("skillhive.cleanup.posts").register(meterRegistry);
+        this.interactionsRemoved = Counter.builder("skillhive.cleanup.interactions").register(meterRegistry);
+        this.mediaRemoved = Counter.builder("skillhive.cleanup.media").register(meterRegistry);
+        this.failures = Counter.builder("skillhive.cleanup.failures").register(meterRegistry);
+        this.runTimer = Timer.builder("skillhive.cleanup.run").register(meterRegistry);
+        meterRegistry.gauge("skillhive.cleanup.backlog", backlog);
+    }
+
+    @Scheduled(fixedDelayString = "${skillhive.cleanup.interval-ms:10000}")
+    public void run() {
+        runTimer.record(() -> {
+            Query tombstones = Query.query(Criteria.where("deleted").is(true).orOperator(
+                            Criteria.where("cleanupRetryAt").is(null),
+                            Criteria.where("cleanupRetryAt").lte(LocalDateTime.now())))
+                    .with(Sort.by("deletedAt"))
+                    .limit(postsPerRun);
+            tombstones.fields().include("id", "media", "cleanupAttempts");
+            List<Post> posts = mongoTemplate.find(tombstones, Post.class);
+            for (Post post : posts) {
+                try {
+                    purge(post);
+                } catch (RuntimeException | IOException e) {
+                    // Left in place; a later run starts this post over
+                    failures.increment();
+                    logger.warn("Cleanup of deleted post {} failed (attempt {}): {}",
+                            post.getId(), post.getCleanupAttempts() + 1, e.getMessage());
+                    deferRetry(post);
+                }
+            }
+            backlog.set(mongoTemplate.count(Query.query(Criteria.where("deleted").is(true)), Post.class));
+            if (!posts.isEmpty()) {
+                logger.info("Cleaned up {} deleted posts, {} remaining", posts.size(), backlog.get());
+            }
+        });
+    }
+
+    private void deferRetry(Post post) {
+        int attempts = post.getCleanupAttempts() + 1;
+        long delay = Math.min(retryMaxMillis, retryBaseMillis << Math.min(attempts - 1, 20));
+        try {
+            mongoTemplate.updateFirst(Query.query(Criteria.where("id").is(post.getId()).and("deleted").is(true)),
+                    new Update().set("cleanupAttempts", attempts)
+                            .set("cleanupRetryAt", LocalDateTime.now().plus(Duration.ofMillis(delay))),
+                    Post.class);
+        } catch (RuntimeException e) {
+            logger.warn("Could not defer cleanup of deleted post {}: {}", post.getId(), e.getMessage());
+        }
+    }
+
+    private void purge(Post post) throws IOException {
+        long interactions = 0;
+        List<String> batch;
+        do {
+            Query page = Query.query(Criteria.where("postId").is(post.getId())).limit(interactionBatchSize);
+            page.fields().include("id");
+            batch = new ArrayList<>();
+            for (PostInteraction interaction : mongoTemplate.find(page, PostInteraction.class)) {
+                batch.add(interaction.getId());
+            }
+            if (!batch.isEmpty()) {
+                long removed = mongoTemplate.remove(Query.query(Criteria.where("id").in(batch)), PostInteraction.class)
+                        .getDeletedCount();
+                interactionsRemoved.increment(removed);
+                interactions += removed;
+            }
+        } while (batch.size() == interactionBatchSize);
+
+        List<String> storedNames = new ArrayList<>();
+        if (post.getMedia() != null) {
+            for (Post.Media media : post.getMedia()) {
+                mediaCache.invalidate(media.getPath());
+                Path filePath = uploadDirectory.resolve(media.getPath());
+                if (filePath != null && Files.deleteIfExists(filePath)) {
+                    mediaRemoved.increment();
+                }
+                storedNames.add(media.getPath());
+            }
+        }
+        if (!storedNames.isEmpty()) {
+            mongoTemplate.remove(Query.query(Criteria.where("storedName").in(storedNames)
+                    .and("status").is(UploadSession.Status.ATTACHED)), UploadSession.class);
+        }
+
+        // Removing the tombstone marks the post as fully cleaned up
+        mongoTemplate.remove(Query.query(Criteria.where("id").is(post.getId()).and("deleted").is(true)), Post.class);
+        postsRemoved.increment();
+        logger.debug("Purged post {}: {} interactions, {} media files", post.getId(), interactions, storedNames.size());
+    }
+}
@@ -1,68 +1,114 @@
 package com.example.demo.service;
 
+import com.example.demo.model.BatchItem;
 import com.example.demo.model.Post;
 import com.example.demo.repository.PostRepository;
+import com.example.demo.util.BatchIds;
+import com.example.demo.util.FieldSelection;
 import com.example.demo.util.MediaValidator;
+import com.example.demo.util.TextTokenizer;
+import com.example.demo.util.UploadDirectory;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import org.bson.Document;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import javax.annotation.PostConstruct;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "skillhive.service", histogram = true)
 public class PostService {
 
     private static final Logger logger = LoggerFactory.getLogger(PostService.class);
+    private static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
+    private static final FindAndModifyOptions RETURN_OLD = FindAndModifyOptions.options().returnNew(false);
 
     private final PostRepository postRepository;
     private final MediaValidator mediaValidator;
+    private final MeterRegistry meterRegistry;
+    private final UploadDirectory uploadDirectory;
+    private final UserBatchLoader userBatchLoader;
+    private final UploadService uploadService;
+    private final MongoTemplate mongoTemplate;
+    private final MediaCache mediaCache;
+    private final TagService tagService;
+    private final DuplicateContentDetector duplicateContentDetector;
+
+    // Write one uploaded file into the upload directory and record its size and write throughput
+    private Post.Media storeMedia(MultipartFile file, Post.MediaType type) throws IOException {
+        String kind = type == Post.MediaType.IMAGE ? "image" : "video";
+        logger.info("Processing {}: name={}, size={}", kind, file.getOriginalFilename(), file.getSize());
+        String filename = UUID.randomUUID() + "_" + file.getOriginalFilename();
+        Path filePath = uploadDirectory.getRoot().resolve(filename).normalize();
+        logger.info("Saving {} to: {}", kind, filePath);
+        // Double-check directory existence right before writing
+        Path parentDir = filePath.getParent();
+        if (!Files.exists(parentDir)) {
+            logger.warn("Directory {} does not exist before writing file, creating it", parentDir);
+            Files.createDirectories(parentDir);
+        }
+        long start = System.nanoTime();
+        try {
+            Files.write(filePath, file.getBytes());
+            logger.info("Successfully saved {} to: {}", kind, filePath);
+        } catch (IOException e) {
+            logger.error("Failed to save {} to {}: {}", kind, filePath, e.getMessage(), e);
+            throw e;
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        Timer.builder("skillhive.upload.write")
+                .tag("type", kind)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("skillhive.upload.bytes")
+                .baseUnit("bytes")
+                .tag("type", kind)
+                .register(meterRegistry)
+                .record(file.getSize());
+        if (elapsedNanos > 0) {
+            DistributionSummary.builder("skillhive.upload.throughput")
+                    .baseUnit("bytes_per_second")
+                    .tag("type", kind)
+                    .register(meterRegistry)
+                    .record(file.getSize() * 1_000_000_000.0 / elapsedNanos);
+        }
 
-    // Directory for saving uploaded files, injected from application.properties
-    @Value("${file.upload-dir}")
-    private String UPLOAD_DIR;
-
-    // Resolve UPLOAD_DIR to an absolute path at startup
-    @PostConstruct
-    public void init() {
-        UPLOAD_DIR = Paths.get(UPLOAD_DIR).toAbsolutePath().normalize().toString();
-        logger.info("Resolved UPLOAD_DIR to absolute path: {}", UPLOAD_DIR);
-    }
-
-    // Ensure the upload directory exists
-    private void ensureUploadDirectoryExists() throws IOException {
-        Path uploadPath = Paths.get(UPLOAD_DIR).normalize();
-        logger.info("Checking upload directory in PostService: {}", uploadPath);
-        if (!Files.exists(uploadPath)) {
-            logger.info("Upload directory {} does not exist, creating it", uploadPath);
-            Files.createDirectories(uploadPath);
-            logger.info("Upload directory created successfully: {}", uploadPath);
-        } else {
-            logger.info("Upload directory already exists: {}", uploadPath);
-        }
-        // Check if the directory is writable
-        if (!Files.isWritable(uploadPath)) {
-            logger.error("Upload directory {} is not writable", uploadPath);
-            throw new IOException("Upload directory is not writable: " + uploadPath);
-        }
-        logger.info("Upload directory {} is writable", uploadPath);
+        Post.Media media = new Post.Media();
+        media.setPath(filename);
+        media.setType(type);
+        return media;
     }
 
-    public Post createPost(String text, String creatorId, String creatorName, MultipartFile[] images, MultipartFile video) throws IOException {
+    // ownerId is the authenticated user; only their own finished uploads can be attached
+    public Post createPost(String text, String creatorId, String creatorName, MultipartFile[] images, MultipartFile video,
+                           String ownerId, List<String> uploadIds) throws IOException {
         logger.info("Creating post with text: {}, creatorId: {}, creatorName: {}", text, creatorId, creatorName);
 
         // Manual validation for required fields
@@ -80,8 +126,15 @@ public class PostService {
         logger.info("Validating media files: images: {}, video: {}", images != null ? images.length : 0, video != null ? video.getOriginalFilename() : "none");
         mediaValidator.validateMedia(images, video);
 
+        // Screened before any media is written, so a rejected copy leaves nothing behind
+        boolean flagged = duplicateContentDetector.screen(text, "post");
+
         Post post = new Post();
         post.setText(text);
+        post.setFlagged(flagged);
+        TextTokenizer.Tokens tokens = TextTokenizer.tokenize(text);
+        post.setHashtags(new ArrayList<>(tokens.hashtags()));
+        post.setMentions(new ArrayList<>(tokens.mentions()));
         post.setCreatorId(creatorId);
         post.setCreatorName(creatorName);
         post.setCreatedAt(LocalDateTime.now());
@@ -90,88 +143,129 @@ public class PostService {
         // Handle media uploads
         List<Post.Media> mediaList = new ArrayList<>();
         if (images != null) {
-            ensureUploadDirectoryExists(); // Ensure directory exists before writing
+            uploadDirectory.ensureExists(); // Ensure directory exists before writing
             logger.info("Processing {} image files", images.length);
             for (int i = 0; i < images.length; i++) {
                 MultipartFile image = images[i];
                 if (image != null && !image.isEmpty()) {
-                    logger.info("Processing image {}: name={}, size={}", i, image.getOriginalFilename(), image.getSize());
-                    String filename = UUID.randomUUID() + "_" + image.getOriginalFilename();
-                    Path filePath = Paths.get(UPLOAD_DIR, filename).normalize();
-                    logger.info("Saving image to: {}", filePath);
-                    // Double-check directory existence right before writing
-                    Path parentDir = filePath.getParent();
-                    if (!Files.exists(parentDir)) {
-                        logger.warn("Directory {} does not exist before writing file, creating it", parentDir);
-                        Files.createDirectories(parentDir);
-                    }
-                    try {
-                        Files.write(filePath, image.getBytes());
-                        logger.info("Successfully saved image to: {}", filePath);
-                    } catch (IOException e) {
-                        logger.error("Failed to save image to {}: {}", filePath, e.getMessage(), e);
-                        throw e;
-                    }
-                    Post.Media media = new Post.Media();
-                    media.setPath(filename);
-                    media.setType(Post.MediaType.IMAGE);
-                    mediaList.add(media);
+                    mediaList.add(storeMedia(image, Post.MediaType.IMAGE));
                 } else {
                     logger.warn("Image {} is null or empty", i);
                 }
             }
         }
         if (video != null && !video.isEmpty()) {
-            ensureUploadDirectoryExists(); // Ensure directory exists before writing
-            logger.info("Processing video: name={}, size={}", video.getOriginalFilename(), video.getSize());
-            String filename = UUID.randomUUID() + "_" + video.getOriginalFilename();
-            Path filePath = Paths.get(UPLOAD_DIR, filename).normalize();
-            logger.info("Saving video to: {}", filePath);
-            // Double-check directory existence right before writing
-            Path parentDir = filePath.getParent();
-            if (!Files.exists(parentDir)) {
-                logger.warn("Directory {} does not exist before writing file, creating it", parentDir);
-                Files.createDirectories(parentDir);
-            }
-            try {
-                Files.write(filePath, video.getBytes());
-                logger.info("Successfully saved video to: {}", filePath);
-            } catch (IOException e) {
-                logger.error("Failed to save video to {}: {}", filePath, e.getMessage(), e);
-                throw e;
-            }
-            Post.Media media = new Post.Media();
-            media.setPath(filename);
-            media.setType(Post.MediaType.VIDEO);
-            mediaList.add(media);
+            uploadDirectory.ensureExists(); // Ensure directory exists before writing
+            mediaList.add(storeMedia(video, Post.MediaType.VIDEO));
         } else if (video != null) {
             logger.warn("Video is empty");
         }
+        // Media finished through /api/uploads is attached by reference
+        boolean hasUploads = uploadIds != null && !uploadIds.isEmpty();
+        if (hasUploads) {
+            mediaList.addAll(uploadService.attach(ownerId, uploadIds));
+        }
         post.setMedia(mediaList);
 
         logger.info("Saving post to MongoDB");
-        Post savedPost = postRepository.save(post);
+        Post savedPost;
+        try {
+            savedPost = postRepository.save(post);
+        } catch (RuntimeException e) {
+            if (hasUploads) {
+                uploadService.release(ownerId, uploadIds);
+            }
+            throw e;
+        }
+        indexText(savedPost, List.of(), List.of());
         logger.info("Post saved successfully with ID: {}", savedPost.getId());
         return savedPost;
     }
 
     public Page<Post> getAllPosts(int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        return postRepository.findAll(pageable);
+        Page<Post> posts = postRepository.findVisible(pageable);
+        userBatchLoader.enrich(posts.getContent());
+        return posts;
+    }
+
+    // Sparse feed page: Mongo returns only the selected fields
+    public Page<Post> getAllPosts(int page, int size, FieldSelection fields) {
+        if (fields.isAll()) {
+            return getAllPosts(page, size);
+        }
+        Pageable pageable = PageRequest.of(page, size);
+        Query query = project(new Query(Criteria.where("deleted").ne(true)), fields).with(pageable);
+        List<Post> posts = mongoTemplate.find(query, Post.class);
+        enrichSelected(posts, fields);
+        return PageableExecutionUtils.getPage(posts, pageable,
+                () -> mongoTemplate.count(new Query(Criteria.where("deleted").ne(true)), Post.class));
     }
 
     public Post getPostById(String id) {
-        return postRepository.findById(id).orElse(null);
+        Post post = postRepository.findById(id).filter(found -> !found.isDeleted()).orElse(null);
+        userBatchLoader.enrich(post);
+        return post;
+    }
+
+    public Post getPostById(String id, FieldSelection fields) {
+        if (fields.isAll()) {
+            return getPostById(id);
+        }
+        Post post = mongoTemplate.findOne(project(byId(id), fields), Post.class);
+        if (post != null) {
+            enrichSelected(List.of(post), fields);
+        }
+        return post;
+    }
+
+    // One $in query for the whole batch; deleted posts come back as not found
+    public List<BatchItem<Post>> getPostsByIds(List<String> ids) {
+        List<Post> posts = new ArrayList<>();
+        for (Post post : postRepository.findAllById(BatchIds.distinct(ids))) {
+            if (!post.isDeleted()) {
+                posts.add(post);
+            }
+        }
+        userBatchLoader.enrich(posts);
+        Map<String, Post> byId = posts.stream().collect(Collectors.toMap(Post::getId, Function.identity()));
+        return BatchItem.inRequestOrder(ids, byId);
     }
 
     public List<Post> getPostsByUserId(String userId) {
-        return postRepository.findByCreatorId(userId);
+        List<Post> posts = postRepository.findByCreatorId(userId);
+        userBatchLoader.enrich(posts);
+        return posts;
+    }
+
+    public List<Post> getPostsByUserId(String userId, FieldSelection fields) {
+        if (fields.isAll()) {
+            return getPostsByUserId(userId);
+        }
+        Query query = Query.query(Criteria.where("creatorId").is(userId).and("deleted").ne(true));
+        List<Post> posts = mongoTemplate.find(project(query, fields), Post.class);
+        enrichSelected(posts, fields);
+        return posts;
+    }
+
+    // creatorName is refreshed from creatorId, so selecting it reads creatorId too
+    private static Query project(Query query, FieldSelection fields) {
+        return fields.includes("creatorName") ? fields.project(query, "creatorId") : fields.project(query);
     }
 
-    public Post updatePost(String id, String text, MultipartFile[] images, MultipartFile video) throws IOException {
+    // Usernames are only looked up when a selected field shows them
+    private void enrichSelected(List<Post> posts, FieldSelection fields) {
+        if (fields.includes("creatorName") || fields.includes("comments")) {
+            userBatchLoader.enrich(posts);
+        }
+    }
+
+    public Post updatePost(String id, String text, MultipartFile[] images, MultipartFile video,
+                           String ownerId, List<String> uploadIds) throws IOException {
         logger.info("Updating post with ID: {}", id);
-        Post post = postRepository.findById(id).orElse(null);
-        if (post == null) {
+        // Cheap check so no files are stored for a missing post; the state the edit replaces
+        // is taken from the write itself below
+        if (!mongoTemplate.exists(byId(id), Post.class)) {
             logger.warn("Post not found with ID: {}", id);
             return null;
         }
@@ -184,135 +278,186 @@ public class PostService {
         // Validate media
         mediaValidator.validateMedia(images, video);
 
-        post.setText(text);
-        post.setUpdatedAt(LocalDateTime.now());
+        TextTokenizer.Tokens tokens = TextTokenizer.tokenize(text);
+        Update update = new Update()
+                .set("text", text)
+                .set("hashtags", new ArrayList<>(tokens.hashtags()))
+                .set("mentions", new ArrayList<>(tokens.mentions()))
+                .set("updatedAt", LocalDateTime.now())
+                .inc("version", 1);
 
         // Handle media uploads (only update media if new files are provided)
-        List<Post.Media> mediaList = post.getMedia(); // Start with existing media
-        if (images != null || (video != null && !video.isEmpty())) {
-            mediaList = new ArrayList<>(); // Reset media list only if new media is provided
+        boolean hasUploads = uploadIds != null && !uploadIds.isEmpty();
+        if (images != null || (video != null && !video.isEmpty()) || hasUploads) {
+            List<Post.Media> mediaList = new ArrayList<>(); // Reset media list only if new media is provided
             if (images != null) {
-                ensureUploadDirectoryExists(); // Ensure directory exists before writing
+                uploadDirectory.ensureExists(); // Ensure directory exists before writing
                 logger.info("Processing {} image files for update", images.length);
                 for (int i = 0; i < images.length; i++) {
                     MultipartFile image = images[i];
                     if (image != null && !image.isEmpty()) {
-                        logger.info("Processing image {}: name={}, size={}", i, image.getOriginalFilename(), image.getSize());
-                        String filename = UUID.randomUUID() + "_" + image.getOriginalFilename();
-                        Path filePath = Paths.get(UPLOAD_DIR, filename).normalize();
-                        logger.info("Saving image to: {}", filePath);
-                        // Double-check directory existence right before writing
-                        Path parentDir = filePath.getParent();
-                        if (!Files.exists(parentDir)) {
-                            logger.warn("Directory {} does not exist before writing file, creating it", parentDir);
-                            Files.createDirectories(parentDir);
-                        }
-                        try {
-                            Files.write(filePath, image.getBytes());
-                            logger.info("Successfully saved image to: {}", filePath);
-                        } catch (IOException e) {
-                            logger.error("Failed to save image to {}: {}", filePath, e.getMessage(), e);
-                            throw e;
-                        }
-                        Post.Media media = new Post.Media();
-                        media.setPath(filename);
-                        media.setType(Post.MediaType.IMAGE);
-                        mediaList.add(media);
+                        mediaList.add(storeMedia(image, Post.MediaType.IMAGE));
                     } else {
                         logger.warn("Image {} is null or empty", i);
                     }
                 }
             }
             if (video != null && !video.isEmpty()) {
-                ensureUploadDirectoryExists(); // Ensure directory exists before writing
-                logger.info("Processing video: name={}, size={}", video.getOriginalFilename(), video.getSize());
-                String filename = UUID.randomUUID() + "_" + video.getOriginalFilename();
-                Path filePath = Paths.get(UPLOAD_DIR, filename).normalize();
-                logger.info("Saving video to: {}", filePath);
-                // Double-check directory existence right before writing
-                Path parentDir = filePath.getParent();
-                if (!Files.exists(parentDir)) {
-                    logger.warn("Directory {} does not exist before writing file, creating it", parentDir);
-                    Files.createDirectories(parentDir);
-                }
-                try {
-                    Files.write(filePath, video.getBytes());
-                    logger.info("Successfully saved video to: {}", filePath);
-                } catch (IOException e) {
-                    logger.error("Failed to save video to {}: {}", filePath, e.getMessage(), e);
-                    throw e;
-                }
-                Post.Media media = new Post.Media();
-                media.setPath(filename);
-                media.setType(Post.MediaType.VIDEO);
-                mediaList.add(media);
+                uploadDirectory.ensureExists(); // Ensure directory exists before writing
+                mediaList.add(storeMedia(video, Post.MediaType.VIDEO));
             } else if (video != null) {
                 logger.warn("Video is empty");
             }
+            if (hasUploads) {
+                mediaList.addAll(uploadService.attach(ownerId, uploadIds));
+            }
+            update.set("media", mediaList);
         }
-        post.setMedia(mediaList);
 
-        logger.info("Saving updated post to MongoDB");
-        Post updatedPost = postRepository.save(post);
+        // Only the edited fields are written; likes and comments added meanwhile are kept.
+        // The document as it was just before this write is returned, so replaced media and
+        // previous tags are those of the version this edit overwrote, even when edits race.
+        logger.info("Applying post update in MongoDB");
+        Post previous;
+        try {
+            previous = mongoTemplate.findAndModify(byId(id), update, RETURN_OLD, Post.class);
+        } catch (RuntimeException e) {
+            if (hasUploads) {
+                uploadService.release(ownerId, uploadIds);
+            }
+            throw e;
+        }
+        if (previous == null) {
+            logger.warn("Post {} was deleted during the update", id);
+            if (hasUploads) {
+                uploadService.release(ownerId, uploadIds);
+            }
+            return null;
+        }
+        List<String> previousTags = previous.getHashtags();
+        List<String> previousMentions = previous.getMentions();
+        List<Post.Media> previousMedia = previous.getMedia();
+        Post updatedPost = applyUpdate(previous, update);
+        if (update.modifies("media")) {
+            removeReplacedMedia(previousMedia, updatedPost.getMedia());
+        }
+        indexText(updatedPost, previousTags, previousMentions);
+        userBatchLoader.enrich(updatedPost);
         logger.info("Post updated successfully with ID: {}", updatedPost.getId());
         return updatedPost;
     }
 
-    public boolean deletePost(String id) {
-        logger.info("Deleting post with ID: {}", id);
-        Post post = postRepository.findById(id).orElse(null);
-        if (post == null) {
-            logger.warn("Post not found with ID: {}", id);
-            return false;
+    // Tag counts and mention notifications follow the stored post. The post write has
+    // already happened, so a failure here is logged instead of failing the request.
+    private void indexText(Post post, List<String> previousTags, List<String> previousMentions) {
+        try {
+            tagService.tagsChanged(previousTags, post.getHashtags());
+            tagService.notifyMentions(post, previousMentions);
+        } catch (RuntimeException e) {
+            logger.warn("Updating tags and mentions of post {} failed: {}", post.getId(), e.getMessage());
         }
+    }
 
-        // Delete associated media files from the filesystem
-        List<Post.Media> mediaList = post.getMedia();
-        if (mediaList != null && !mediaList.isEmpty()) {
-            for (Post.Media media : mediaList) {
-                Path filePath = Paths.get(UPLOAD_DIR, media.getPath()).normalize();
-                try {
+    // The pre-write document with this edit's $set and $inc applied is exactly what the
+    // write stored, without a second read that could see later edits
+    @SuppressWarnings("unchecked")
+    private static Post applyUpdate(Post post, Update update) {
+        Document set = (Document) update.getUpdateObject().get("$set");
+        post.setText((String) set.get("text"));
+        post.setHashtags((List<String>) set.get("hashtags"));
+        post.setMentions((List<String>) set.get("mentions"));
+        post.setUpdatedAt((LocalDateTime) set.get("updatedAt"));
+        if (set.containsKey("media")) {
+            post.setMedia((List<Post.Media>) set.get("media"));
+        }
+        post.setVersion(post.getVersion() == null ? 1L : post.getVersion() + 1);
+        return post;
+    }
+
+    // Files of media that an update replaced are no longer referenced by any post; the
+    // upload sessions they came from go with them
+    private void removeReplacedMedia(List<Post.Media> previous, List<Post.Media> current) {
+        if (previous == null) {
+            return;
+        }
+        List<String> removed = new ArrayList<>();
+        for (Post.Media media : previous) {
+            boolean kept = current != null && current.stream().anyMatch(m -> media.getPath().equals(m.getPath()));
+            if (kept) {
+                continue;
+            }
+            removed.add(media.getPath());
+            mediaCache.invalidate(media.getPath());
+            Path filePath = uploadDirectory.resolve(media.getPath());
+            try {
+                if (filePath != null) {
                     Files.deleteIfExists(filePath);
-                    logger.info("Deleted media file: {}", filePath);
-                } catch (IOException e) {
-                    logger.warn("Failed to delete media file {}: {}", filePath, e.getMessage());
-                    // Continue with deletion even if file deletion fails
+                    logger.info("Deleted replaced media file: {}", filePath);
                 }
+            } catch (IOException e) {
+                logger.warn("Failed to delete replaced media file {}: {}", filePath, e.getMessage());
             }
         }
-
-        postRepository.deleteById(id);
-        logger.info("Post deleted successfully with ID: {}", id);
-        return true;
+        try {
+            uploadService.forget(removed);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to remove upload sessions of replaced media {}: {}", removed, e.getMessage());
+        }
     }
 
-    public boolean likePost(String id, String userId) {
-        logger.info("Liking post with ID: {} by user: {}", id, userId);
-        Post post = postRepository.findById(id).orElse(null);
-        if (post == null) {
+    // Deleting only writes a tombstone; PostCleanupJob removes the media, the
+    // interactions and finally the document in the background
+    public boolean deletePost(String id) {
+        logger.info("Deleting post with ID: {}", id);
+        Update update = new Update()
+                .set("deleted", true)
+                .set("deletedAt", LocalDateTime.now())
+                .inc("version", 1);
+        // Returns the post as it was, for the tags whose counts drop
+        Query current = byId(id);
+        current.fields().include("hashtags");
+        Post deleted = mongoTemplate.findAndModify(current, update, Post.class);
+        if (deleted == null) {
             logger.warn("Post not found with ID: {}", id);
             return false;
         }
-        List<String> likes = post.getLikes();
-        if (likes.contains(userId)) {
-            likes.remove(userId); // Unlike
-            logger.info("User {} unliked post {}", userId, id);
-        } else {
-            likes.add(userId); // Like
-            logger.info("User {} liked post {}", userId, id);
+        logger.info("Post {} marked as deleted", id);
+        try {
+            tagService.tagsChanged(deleted.getHashtags(), List.of());
+        } catch (RuntimeException e) {
+            logger.warn("Updating tag counts of deleted post {} failed: {}", id, e.getMessage());
         }
-        post.setLikes(likes);
-        postRepository.save(post);
         return true;
     }
 
+    // A toggle is two conditional single-document updates instead of a read-modify-write:
+    // add the user if they are not in likes, otherwise pull them. Concurrent toggles on the
+    // same post never overwrite each other, and the post is never read into memory.
+    public boolean likePost(String id, String userId) {
+        logger.info("Liking post with ID: {} by user: {}", id, userId);
+        while (true) {
+            Query notLiked = byId(id).addCriteria(Criteria.where("likes").ne(userId));
+            if (mongoTemplate.updateFirst(notLiked, new Update().push("likes", userId).inc("version", 1), Post.class)
+                    .getMatchedCount() > 0) {
+                logger.info("User {} liked post {}", userId, id);
+                return true;
+            }
+            Query liked = byId(id).addCriteria(Criteria.where("likes").is(userId));
+            if (mongoTemplate.updateFirst(liked, new Update().pull("likes", userId).inc("version", 1), Post.class)
+                    .getMatchedCount() > 0) {
+                logger.info("User {} unliked post {}", userId, id);
+                return true;
+            }
+            // Neither matched: the post is gone, or another toggle by the same user ran in between
+            if (!mongoTemplate.exists(byId(id), Post.class)) {
+                logger.warn("Post not found with ID: {}", id);
+                return false;
+            }
+        }
+    }
+
     public Post addComment(String postId, String text, String creatorId, String creatorName) {
         logger.info("Adding comment to post with ID: {}", postId);
-        Post post = postRepository.findById(postId).orElse(null);
-        if (post == null) {
-            logger.warn("Post not found with ID: {}", postId);
-            return null;
-        }
 
         // Manual validation for required fields
         if (text == null || text.trim().isEmpty()) {
@@ -328,54 +473,52 @@ public class PostService {
         Post.Comment comment = new Post.Comment();
         comment.setId(UUID.randomUUID().toString());
         comment.setText(text);
+        comment.setFlagged(duplicateContentDetector.screen(text, "comment"));
         comment.setCreatorId(creatorId);
         comment.setCreatorName(creatorName);
         comment.setCreatedAt(LocalDateTime.now());
-        post.getComments().add(comment);
-        logger.info("Saving post with new comment");
-        Post updatedPost = postRepository.save(post);
+        logger.info("Pushing new comment to post");
+        Update update = new Update().push("comments", comment).inc("version", 1);
+        Post updatedPost = mongoTemplate.findAndModify(byId(postId), update, RETURN_NEW, Post.class);
+        if (updatedPost == null) {
+            logger.warn("Post not found with ID: {}", postId);
+            return null;
+        }
+        userBatchLoader.enrich(updatedPost);
         logger.info("Comment added successfully to post {}", postId);
         return updatedPost;
     }
 
     public List<Post.Comment> getComments(String postId) {
         logger.info("Retrieving comments for post with ID: {}", postId);
-        Post post = postRepository.findById(postId).orElse(null);
+        Post post = postRepository.findById(postId).filter(found -> !found.isDeleted()).orElse(null);
         if (post == null) {
             logger.warn("Post not found with ID: {}", postId);
             return null;
         }
+        userBatchLoader.enrichComments(post.getComments());
         return post.getComments();
     }
 
     public Post deleteComment(String postId, String commentId, String userId) {
         logger.info("Deleting comment {} from post {} by user {}", commentId, postId, userId);
-        Post post = postRepository.findById(postId).orElse(null);
-        if (post == null) {
-            logger.warn("Post not found with ID: {}", postId);
-            return null;
-        }
-        List<Post.Comment> comments = post.getComments();
-        boolean removed = comments.removeIf(comment ->
-                comment.getId().equals(commentId) && comment.getCreatorId().equals(userId));
-        if (!removed) {
-            logger.warn("Comment {} not found or user {} not authorized to delete", commentId, userId);
+        // The filter only matches when the comment exists and belongs to userId
+        Query query = byId(postId).addCriteria(Criteria.where("comments").elemMatch(ownComment(commentId, userId)));
+        Update update = new Update()
+                .pull("comments", new Document(commentIdField(), commentId).append("creatorId", userId))
+                .inc("version", 1);
+        Post updatedPost = mongoTemplate.findAndModify(query, update, RETURN_NEW, Post.class);
+        if (updatedPost == null) {
+            logger.warn("Comment {} not found in post {} or user {} not authorized to delete", commentId, postId, userId);
             return null;
         }
-        post.setComments(comments);
-        logger.info("Saving post after deleting comment");
-        Post updatedPost = postRepository.save(post);
+        userBatchLoader.enrich(updatedPost);
         logger.info("Comment {} deleted successfully from post {}", commentId, postId);
         return updatedPost;
     }
 
     public Post updateComment(String postId, String commentId, String userId, String text, String creatorId, String creatorName) {
         logger.info("Updating comment {} in post {} by user {}", commentId, postId, userId);
-        Post post = postRepository.findById(postId).orElse(null);
-        if (post == null) {
-            logger.warn("Post not found with ID: {}", postId);
-            return null;
-        }
 
         // Manual validation for required fields
         if (text == null || text.trim().isEmpty()) {
@@ -388,30 +531,38 @@ public class PostService {
             throw new IllegalArgumentException("Comment creator name cannot be empty");
         }
 
-        List<Post.Comment> comments = post.getComments();
-        Post.Comment commentToUpdate = null;
-        for (Post.Comment comment : comments) {
-            if (comment.getId().equals(commentId) && comment.getCreatorId().equals(userId)) {
-                commentToUpdate = comment;
-                break;
-            }
-        }
-
-        if (commentToUpdate == null) {
-            logger.warn("Comment {} not found or user {} not authorized to update in post {}", commentId, userId, postId);
+        // $elemMatch selects the caller's comment; the positional $ updates just that element
+        Query query = byId(postId).addCriteria(Criteria.where("comments").elemMatch(ownComment(commentId, userId)));
+        Update update = new Update()
+                .set("comments.$.text", text)
+                .set("comments.$.creatorId", creatorId)
+                .set("comments.$.creatorName", creatorName)
+                .set("comments.$.createdAt", LocalDateTime.now())
+                .inc("version", 1);
+        Post updatedPost = mongoTemplate.findAndModify(query, update, RETURN_NEW, Post.class);
+        if (updatedPost == null) {
+            logger.warn("Comment {} not found in post {} or user {} not authorized to update", commentId, postId, userId);
             return null;
         }
-
-        // Update the comment
-        commentToUpdate.setText(text);
-        commentToUpdate.setCreatorId(creatorId);
-        commentToUpdate.setCreatorName(creatorName);
-        commentToUpdate.setCreatedAt(LocalDateTime.now());
-        post.setComments(comments);
-
-        logger.info("Saving post after updating comment");
-        Post updatedPost = postRepository.save(post);
+        userBatchLoader.enrich(updatedPost);
         logger.info("Comment {} updated successfully in post {}", commentId, postId);
         return updatedPost;
     }
+
+    // Matches the post unless it has been deleted
+    private static Query byId(String postId) {
+        return Query.query(Criteria.where("id").is(postId).and("deleted").ne(true));
+    }
+
+    private Criteria ownComment(String commentId, String userId) {
+        return Criteria.where(commentIdField()).is(commentId).and("creatorId").is(userId);
+    }
+
+    // Stored name of Comment.id inside the comments array, as the mapping layer writes it
+    private String commentIdField() {
+        return mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(Post.Comment.class)
+                .getRequiredPersistentProperty("id")
+                .getFieldName();
+    }
 }
\ No newline at end of file
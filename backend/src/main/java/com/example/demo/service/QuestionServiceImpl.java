@@ -7,6 +7,7 @@ import com.example.demo.repository.QuizRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 
 @Service
@@ -18,14 +19,20 @@ public class QuestionServiceImpl implements QuestionService {
     @Autowired
     private QuizRepository quizRepo;
 
+    @Autowired
+    private AnswerKeyCache answerKeyCache;
+
     @Override
     public Question createQuestion(Long quizId, Question question) {
         Quiz quiz = quizRepo.findById(quizId).orElseThrow(() -> new EntityNotFoundException("Quiz not found"));
         question.setQuiz(quiz);
-        return questionRepo.save(question);
+        Question saved = questionRepo.save(question);
+        answerKeyCache.invalidate(quizId);
+        return saved;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Question> getQuestionsByQuiz(Long quizId) {
         return questionRepo.findByQuizId(quizId);
     }
@@ -35,11 +42,16 @@ public class QuestionServiceImpl implements QuestionService {
         Question existing = questionRepo.findById(id).orElseThrow(() -> new EntityNotFoundException("Question not found"));
         existing.setText(question.getText());
         existing.setAnswer(question.getAnswer());
-        return questionRepo.save(existing);
+        Question saved = questionRepo.save(existing);
+        answerKeyCache.invalidate(existing.getQuiz().getId());
+        return saved;
     }
 
     @Override
     public void deleteQuestion(Long id) {
-        questionRepo.deleteById(id);
+        questionRepo.findById(id).ifPresent(question -> {
+            questionRepo.delete(question);
+            answerKeyCache.invalidate(question.getQuiz().getId());
+        });
     }
 }
@@ -0,0 +1,11 @@
+package com.example.demo.service;
+
+import com.example.demo.model.QuizAttempt;
+import java.util.List;
+import java.util.Map;
+
+public interface QuizAttemptService {
+    QuizAttempt startAttempt(Long quizId, String username);
+    QuizAttempt submitAttempt(Long quizId, String attemptId, String username, Map<Long, String> answers);
+    List<QuizAttempt> getAttempts(Long quizId, String username);
+}
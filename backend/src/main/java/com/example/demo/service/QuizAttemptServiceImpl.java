@@ -0,0 +1,113 @@
+package com.example.demo.service;
+
+import com.example.demo.model.QuizAttempt;
+import com.example.demo.model.User;
+import com.example.demo.repository.QuizAttemptRepository;
+import com.example.demo.repository.QuizRepository;
+import com.example.demo.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+public class QuizAttemptServiceImpl implements QuizAttemptService {
+
+    @Autowired
+    private QuizRepository quizRepo;
+
+    @Autowired
+    private QuizAttemptRepository attemptRepo;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private AnswerKeyCache answerKeyCache;
+
+    @Autowired
+    private QuizAttemptWriter attemptWriter;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Value("${quiz.attempts.ttl-minutes:120}")
+    private long attemptTtlMinutes;
+
+    @Value("${quiz.attempts.max-active:100000}")
+    private long maxActiveAttempts;
+
+    // Attempts in progress live only in memory; nothing is written until submission.
+    // Attempts never submitted expire after the TTL, and the cap bounds the map between expiries.
+    private Map<String, QuizAttempt> activeAttempts;
+
+    @PostConstruct
+    void init() {
+        activeAttempts = Caffeine.newBuilder()
+                .maximumSize(maxActiveAttempts)
+                .expireAfterWrite(Duration.ofMinutes(attemptTtlMinutes))
+                .<String, QuizAttempt>build()
+                .asMap();
+    }
+
+    @Override
+    public QuizAttempt startAttempt(Long quizId, String username) {
+        // A cached answer key means the quiz exists; otherwise MySQL is asked before
+        // anything is cached, so unknown quiz ids leave nothing behind
+        if (answerKeyCache.getIfPresent(quizId) == null && !quizRepo.existsById(quizId)) {
+            throw new EntityNotFoundException("Quiz not found");
+        }
+        QuizAttempt attempt = new QuizAttempt();
+        attempt.setId(UUID.randomUUID().toString());
+        attempt.setQuizId(quizId);
+        attempt.setUserId(userId(username));
+        attempt.setStartedAt(LocalDateTime.now());
+        activeAttempts.put(attempt.getId(), attempt);
+        return attempt;
+    }
+
+    @Override
+    public QuizAttempt submitAttempt(Long quizId, String attemptId, String username, Map<Long, String> answers) {
+        QuizAttempt attempt = activeAttempts.get(attemptId);
+        if (attempt == null || !attempt.getQuizId().equals(quizId) || !attempt.getUserId().equals(userId(username))) {
+            throw new EntityNotFoundException("Attempt not found or already submitted");
+        }
+        // remove() is the single winner when the same attempt is submitted twice concurrently
+        if (!activeAttempts.remove(attemptId, attempt)) {
+            throw new EntityNotFoundException("Attempt not found or already submitted");
+        }
+
+        AnswerKeyCache.AnswerKey key = answerKeyCache.get(quizId);
+        LocalDateTime submittedAt = LocalDateTime.now();
+        attempt.setScore(answers == null ? 0 : key.grade(answers));
+        attempt.setMaxScore(key.size());
+        attempt.setSubmittedAt(submittedAt);
+        attempt.setDurationMillis(Duration.between(attempt.getStartedAt(), submittedAt).toMillis());
+
+        attemptWriter.enqueue(attempt);
+        leaderboardService.record(attempt);
+        return attempt;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<QuizAttempt> getAttempts(Long quizId, String username) {
+        return attemptRepo.findByQuizIdAndUserId(quizId, userId(username));
+    }
+
+    // Served from the query cache on findByUsername after the first lookup
+    private Long userId(String username) {
+        return userRepo.findByUsername(username)
+                .map(User::getId)
+                .orElseThrow(() -> new EntityNotFoundException("User not found"));
+    }
+}
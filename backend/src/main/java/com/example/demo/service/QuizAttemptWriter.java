@@ -0,0 +1,122 @@
+package com.example.demo.service;
+
+import com.example.demo.model.QuizAttempt;
+import com.example.demo.repository.QuizAttemptRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Buffers graded attempts and writes them with saveAll so a burst of submissions
+// turns into a few batched INSERTs instead of one transaction per request. A failed
+// batch is retried row by row, so one bad attempt cannot hold back the others; a row
+// that keeps failing is dropped after max-attempts tries and counted.
+@Component
+public class QuizAttemptWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuizAttemptWriter.class);
+
+    private final QuizAttemptRepository attemptRepository;
+    private final BlockingQueue<QuizAttempt> pending;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Map<String, Integer> failures = new ConcurrentHashMap<>();
+    private final Counter dropped;
+
+    public QuizAttemptWriter(QuizAttemptRepository attemptRepository, MeterRegistry meterRegistry,
+                             @Value("${quiz.attempts.buffer-capacity:50000}") int capacity,
+                             @Value("${quiz.attempts.batch-size:500}") int batchSize,
+                             @Value("${quiz.attempts.max-attempts:3}") int maxAttempts) {
+        this.attemptRepository = attemptRepository;
+        this.pending = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.dropped = Counter.builder("skillhive.quiz.attempts.dropped")
+                .description("Graded attempts given up on after repeated write failures")
+                .register(meterRegistry);
+    }
+
+    public void enqueue(QuizAttempt attempt) {
+        if (!pending.offer(attempt)) {
+            // Buffer is full: make the submitting thread help drain it (back-pressure)
+            logger.warn("Attempt buffer full, flushing on the request thread");
+            flush();
+            if (!pending.offer(attempt)) {
+                attemptRepository.save(attempt);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${quiz.attempts.flush-interval-ms:200}")
+    public void flush() {
+        List<QuizAttempt> batch = new ArrayList<>(batchSize);
+        while (pending.drainTo(batch, batchSize) > 0) {
+            try {
+                attemptRepository.saveAll(batch);
+                logger.debug("Persisted {} quiz attempts", batch.size());
+            } catch (RuntimeException e) {
+                logger.warn("Batch write of {} quiz attempts failed, retrying one at a time: {}",
+                        batch.size(), e.getMessage());
+                if (!saveOneByOne(batch)) {
+                    return;
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    // Returns false when the database itself is unavailable; the rest of the batch is then
+    // requeued untouched for the next flush instead of being charged with the outage
+    private boolean saveOneByOne(List<QuizAttempt> batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            QuizAttempt attempt = batch.get(i);
+            try {
+                attemptRepository.save(attempt);
+                failures.remove(attempt.getId());
+            } catch (TransientDataAccessException | DataAccessResourceFailureException e) {
+                logger.error("Database unavailable, {} quiz attempts kept for the next flush: {}",
+                        batch.size() - i, e.getMessage());
+                batch.subList(i, batch.size()).forEach(this::requeue);
+                return false;
+            } catch (RuntimeException e) {
+                int attempts = failures.merge(attempt.getId(), 1, Integer::sum);
+                if (attempts >= maxAttempts) {
+                    failures.remove(attempt.getId());
+                    dropped.increment();
+                    logger.error("Dropping quiz attempt {} (quiz {}, user {}) after {} failed writes: {}",
+                            attempt.getId(), attempt.getQuizId(), attempt.getUserId(), attempts, e.getMessage());
+                } else {
+                    requeue(attempt);
+                }
+            }
+        }
+        return true;
+    }
+
+    private void requeue(QuizAttempt attempt) {
+        if (!pending.offer(attempt)) {
+            failures.remove(attempt.getId());
+            dropped.increment();
+            logger.error("Attempt buffer full, dropping quiz attempt {} after a failed write", attempt.getId());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        logger.info("Flushing {} pending quiz attempts before shutdown", pending.size());
+        flush();
+    }
+}
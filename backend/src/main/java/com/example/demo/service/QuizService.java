@@ -1,12 +1,17 @@
 package com.example.demo.service;
 
+import com.example.demo.model.BatchItem;
 import com.example.demo.model.Quiz;
+import com.example.demo.util.FieldSelection;
 import java.util.List;
 
 public interface QuizService {
     Quiz createQuiz(Long userId, Quiz quiz);
     List<Quiz> getQuizzesByUser(Long userId);
+    List<Quiz> getQuizzesByUser(Long userId, FieldSelection fields);
     Quiz updateQuiz(Long id, Quiz quiz);
     void deleteQuiz(Long id);
     Quiz getQuizById(Long id);
+    Quiz getQuizById(Long id, FieldSelection fields);
+    List<BatchItem<Quiz>> getQuizzesByIds(List<Long> ids);
 }
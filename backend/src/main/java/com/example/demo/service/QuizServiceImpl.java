@@ -1,15 +1,34 @@
 package com.example.demo.service;
 
+import com.example.demo.model.BatchItem;
 import com.example.demo.model.Quiz;
 import com.example.demo.model.User;
 import com.example.demo.repository.QuizRepository;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.util.BatchIds;
+import com.example.demo.util.FieldSelection;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
+@Timed(value = "skillhive.service", histogram = true)
 public class QuizServiceImpl implements QuizService {
 
     @Autowired
@@ -18,6 +37,12 @@ public class QuizServiceImpl implements QuizService {
     @Autowired
     private UserRepository userRepo;
 
+    @Autowired
+    private AnswerKeyCache answerKeyCache;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Override
     public Quiz createQuiz(Long userId, Quiz quiz) {
         User user = userRepo.findById(userId).orElseThrow(() -> new EntityNotFoundException("User not found"));
@@ -26,10 +51,20 @@ public class QuizServiceImpl implements QuizService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Quiz> getQuizzesByUser(Long userId) {
         return quizRepo.findByUserId(userId);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Quiz> getQuizzesByUser(Long userId, FieldSelection fields) {
+        if (!isTupleSelection(fields)) {
+            return getQuizzesByUser(userId);
+        }
+        return findSelected(fields, "user", userId);
+    }
+
     @Override
     public Quiz updateQuiz(Long id, Quiz quiz) {
         Quiz existing = quizRepo.findById(id).orElseThrow(() -> new EntityNotFoundException("Quiz not found"));
@@ -41,10 +76,81 @@ public class QuizServiceImpl implements QuizService {
     @Override
     public void deleteQuiz(Long id) {
         quizRepo.deleteById(id);
+        answerKeyCache.invalidate(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Quiz getQuizById(Long id) {
         return quizRepo.findById(id).orElseThrow(() -> new EntityNotFoundException("Quiz not found"));
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Quiz getQuizById(Long id, FieldSelection fields) {
+        if (!isTupleSelection(fields)) {
+            return getQuizById(id);
+        }
+        List<Quiz> quizzes = findSelected(fields, "id", id);
+        if (quizzes.isEmpty()) {
+            throw new EntityNotFoundException("Quiz not found");
+        }
+        return quizzes.get(0);
+    }
+
+    // questions is a collection and needs the entity; everything else fits one tuple query
+    private static boolean isTupleSelection(FieldSelection fields) {
+        return !fields.isAll() && !fields.includes("questions");
+    }
+
+    // Selects only the requested columns (and the user row when asked for) into bare Quiz objects
+    private List<Quiz> findSelected(FieldSelection fields, String filterAttribute, Long value) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Quiz> quiz = query.from(Quiz.class);
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String field : fields.fields()) {
+            selections.add(("user".equals(field) ? quiz.join("user", JoinType.LEFT) : quiz.get(field)).alias(field));
+        }
+        query.multiselect(selections);
+        if ("user".equals(filterAttribute)) {
+            query.where(cb.equal(quiz.get("user").get("id"), value));
+        } else {
+            query.where(cb.equal(quiz.get(filterAttribute), value));
+        }
+
+        List<Quiz> quizzes = new ArrayList<>();
+        for (Tuple row : entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .getResultList()) {
+            Quiz selected = new Quiz();
+            for (String field : fields.fields()) {
+                switch (field) {
+                    case "id" -> selected.setId(row.get(field, Long.class));
+                    case "title" -> selected.setTitle(row.get(field, String.class));
+                    case "description" -> selected.setDescription(row.get(field, String.class));
+                    case "user" -> selected.setUser(row.get(field, User.class));
+                    default -> throw new IllegalArgumentException("Unsupported field '" + field + "' for Quiz");
+                }
+            }
+            quizzes.add(selected);
+        }
+        return quizzes;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BatchItem<Quiz>> getQuizzesByIds(List<Long> ids) {
+        // multiLoad serves what it can from the second-level cache and loads the rest with one IN query
+        List<Quiz> loaded = entityManager.unwrap(Session.class)
+                .byMultipleIds(Quiz.class)
+                .multiLoad(BatchIds.distinct(ids));
+        Map<Long, Quiz> byId = new HashMap<>();
+        for (Quiz quiz : loaded) {
+            if (quiz != null) {
+                byId.put(quiz.getId(), quiz);
+            }
+        }
+        return BatchItem.inRequestOrder(ids, byId);
+    }
 }
@@ -1,18 +1,32 @@
 package com.example.demo.service;
 
+import com.example.demo.model.BatchItem;
 import com.example.demo.model.Skill;
 import com.example.demo.repository.SkillRepository;
+import com.example.demo.util.BatchIds;
+import com.example.demo.util.FieldSelection;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "skillhive.service", histogram = true)
 public class SkillService {
     
     @Autowired
     private SkillRepository skillRepository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
     public List<Skill> getAllSkills() {
         return skillRepository.findAll();
     }
@@ -21,6 +35,12 @@ public class SkillService {
         return skillRepository.findById(id);
     }
 
+    public List<BatchItem<Skill>> getSkillsByIds(List<String> ids) {
+        Map<String, Skill> byId = skillRepository.findAllById(BatchIds.distinct(ids)).stream()
+                .collect(Collectors.toMap(Skill::getId, Function.identity()));
+        return BatchItem.inRequestOrder(ids, byId);
+    }
+
     public List<Skill> getSkillsByCategory(String category) {
         return skillRepository.findByCategory(category);
     }
@@ -29,6 +49,30 @@ public class SkillService {
         return skillRepository.findByUserId(userId);
     }
 
+    // Sparse reads: Mongo returns only the selected fields
+    public List<Skill> getAllSkills(FieldSelection fields) {
+        return fields.isAll() ? getAllSkills() : find(new Criteria(), fields);
+    }
+
+    public Optional<Skill> getSkillById(String id, FieldSelection fields) {
+        if (fields.isAll()) {
+            return getSkillById(id);
+        }
+        return Optional.ofNullable(mongoTemplate.findOne(fields.project(Query.query(Criteria.where("id").is(id))), Skill.class));
+    }
+
+    public List<Skill> getSkillsByCategory(String category, FieldSelection fields) {
+        return fields.isAll() ? getSkillsByCategory(category) : find(Criteria.where("category").is(category), fields);
+    }
+
+    public List<Skill> getSkillsByUserId(String userId, FieldSelection fields) {
+        return fields.isAll() ? getSkillsByUserId(userId) : find(Criteria.where("userId").is(userId), fields);
+    }
+
+    private List<Skill> find(Criteria criteria, FieldSelection fields) {
+        return mongoTemplate.find(fields.project(Query.query(criteria)), Skill.class);
+    }
+
     public Skill createSkill(Skill skill) {
         return skillRepository.save(skill);
     }
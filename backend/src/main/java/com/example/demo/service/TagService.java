@@ -0,0 +1,181 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Post;
+import com.example.demo.model.PostInteraction;
+import com.example.demo.model.TagBucket;
+import com.example.demo.model.TagStats;
+import com.example.demo.model.TaggedPosts;
+import com.example.demo.model.TrendingTag;
+import com.example.demo.model.User;
+import com.example.demo.repository.PostInteractionRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.util.TextTokenizer;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// Hashtag index and mentions. The tag -> post index is the multikey hashtags index on
+// posts; this service keeps the per-tag counts in tag_stats and hourly use counters in
+// tag_buckets in step with post writes, pages posts by tag with an _id keyset, and turns
+// new @mentions into MENTION interactions.
+@Service
+public class TagService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TagService.class);
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final int MAX_TRENDING_HOURS = 7 * 24;
+    private static final int MAX_TRENDING_TAGS = 50;
+
+    private final MongoTemplate mongoTemplate;
+    private final PostInteractionRepository postInteractionRepository;
+    private final UserRepository userRepository;
+    private final UserBatchLoader userBatchLoader;
+
+    public TagService(MongoTemplate mongoTemplate, PostInteractionRepository postInteractionRepository,
+                      UserRepository userRepository, UserBatchLoader userBatchLoader) {
+        this.mongoTemplate = mongoTemplate;
+        this.postInteractionRepository = postInteractionRepository;
+        this.userRepository = userRepository;
+        this.userBatchLoader = userBatchLoader;
+    }
+
+    // A post's tags went from before to after: adjust the counts of the difference and
+    // count the newly added tags as uses in the current hour
+    public void tagsChanged(Collection<String> before, Collection<String> after) {
+        Set<String> added = new LinkedHashSet<>(after);
+        added.removeAll(before);
+        Set<String> removed = new LinkedHashSet<>(before);
+        removed.removeAll(after);
+        adjustCounts(added, removed);
+        if (!added.isEmpty()) {
+            recordUses(added);
+        }
+    }
+
+    // Tags of a post that existed before tagging; counted, but not as recent uses
+    public void backfilled(Collection<String> tags) {
+        adjustCounts(new LinkedHashSet<>(tags), Set.of());
+    }
+
+    private void adjustCounts(Set<String> added, Set<String> removed) {
+        if (added.isEmpty() && removed.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        BulkOperations stats = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TagStats.class);
+        for (String tag : added) {
+            stats.upsert(Query.query(Criteria.where("tag").is(tag)), new Update().inc("count", 1).set("updatedAt", now));
+        }
+        for (String tag : removed) {
+            stats.updateOne(Query.query(Criteria.where("tag").is(tag)), new Update().inc("count", -1).set("updatedAt", now));
+        }
+        stats.execute();
+    }
+
+    private void recordUses(Set<String> tags) {
+        Instant hour = Instant.now().truncatedTo(ChronoUnit.HOURS);
+        long epochHour = hour.getEpochSecond() / 3600;
+        BulkOperations buckets = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TagBucket.class);
+        for (String tag : tags) {
+            buckets.upsert(Query.query(Criteria.where("id").is(tag + ":" + epochHour)),
+                    new Update().setOnInsert("tag", tag).setOnInsert("bucket", hour).inc("count", 1));
+        }
+        buckets.execute();
+    }
+
+    // MENTION interactions for users newly mentioned in the post; the author is skipped
+    public void notifyMentions(Post post, Collection<String> previousMentions) {
+        Set<String> added = new LinkedHashSet<>(post.getMentions());
+        added.removeAll(previousMentions);
+        if (added.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<PostInteraction> interactions = new ArrayList<>();
+        for (User user : userRepository.findByUsernameIn(added)) {
+            String recipientId = String.valueOf(user.getId());
+            if (recipientId.equals(post.getCreatorId())) {
+                continue;
+            }
+            PostInteraction interaction = new PostInteraction();
+            interaction.setRecipientId(recipientId);
+            interaction.setPostId(post.getId());
+            interaction.setType("MENTION");
+            interaction.setMessage(post.getCreatorName() + " mentioned you in a post");
+            interaction.setRead(false);
+            interaction.setCreatedAt(now);
+            interactions.add(interaction);
+        }
+        if (!interactions.isEmpty()) {
+            postInteractionRepository.saveAll(interactions);
+            logger.info("Notified {} mentioned users for post {}", interactions.size(), post.getId());
+        }
+    }
+
+    // Newest first; before is the nextCursor of the previous page
+    public TaggedPosts postsByTag(String tag, String before, int size) {
+        String normalized = TextTokenizer.normalizeTag(tag);
+        if (normalized == null || normalized.isEmpty()) {
+            throw new IllegalArgumentException("Tag cannot be empty");
+        }
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Criteria criteria = Criteria.where("hashtags").is(normalized).and("deleted").ne(true);
+        if (before != null && !before.isBlank()) {
+            if (!ObjectId.isValid(before)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            criteria = criteria.and("id").lt(new ObjectId(before));
+        }
+        Query query = Query.query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "id"))
+                .limit(limit + 1);
+        List<Post> posts = mongoTemplate.find(query, Post.class);
+        String nextCursor = null;
+        if (posts.size() > limit) {
+            posts = new ArrayList<>(posts.subList(0, limit));
+            nextCursor = posts.get(limit - 1).getId();
+        }
+        userBatchLoader.enrich(posts);
+        TagStats stats = mongoTemplate.findById(normalized, TagStats.class);
+        long count = stats != null ? Math.max(stats.getCount(), 0) : 0;
+        return new TaggedPosts(normalized, count, posts, nextCursor);
+    }
+
+    // Most used tags over the last hours, summed from the hourly buckets
+    public List<TrendingTag> trending(int hours, int limit) {
+        if (hours < 1 || hours > MAX_TRENDING_HOURS) {
+            throw new IllegalArgumentException("hours must be between 1 and " + MAX_TRENDING_HOURS);
+        }
+        int top = Math.min(Math.max(limit, 1), MAX_TRENDING_TAGS);
+        Instant since = Instant.now().truncatedTo(ChronoUnit.HOURS).minus(hours - 1, ChronoUnit.HOURS);
+        TypedAggregation<TagBucket> aggregation = Aggregation.newAggregation(TagBucket.class,
+                Aggregation.match(Criteria.where("bucket").gte(since)),
+                Aggregation.group("tag").sum("count").as("uses"),
+                Aggregation.sort(Sort.by(Sort.Direction.DESC, "uses")),
+                Aggregation.limit(top));
+        List<TrendingTag> trending = new ArrayList<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, Document.class).getMappedResults()) {
+            trending.add(new TrendingTag(row.getString("_id"), ((Number) row.get("uses")).longValue()));
+        }
+        return trending;
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.demo.service;
+
+import com.example.demo.model.RevokedToken;
+import com.example.demo.repository.RevokedTokenRepository;
+import com.example.demo.security.JwtUtil;
+import com.example.demo.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Deny list for access tokens that are revoked before they expire (logout, logout
+// everywhere). Every authenticated request asks isRevoked, which answers from an in-memory
+// bloom filter and only reads revoked_tokens when the filter reports a possible hit, so
+// the common case costs no database round trip. The filter picks up rows written by other
+// instances every refresh-ms, and is rebuilt from the live rows (dropping expired ones)
+// every rebuild-ms since bloom filters cannot forget keys.
+//
+// Database work never runs under a lock that request threads take: refresh and rebuild
+// serialize on maintenanceLock (scheduler threads only) and touch filterLock just to add
+// keys or swap the filter in. ReentrantLock rather than synchronized keeps virtual threads
+// from pinning their carrier while they wait.
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final JwtUtil jwtUtil;
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+    private final long overlapMillis;
+    private final Counter confirmedHits;
+    private final Counter falsePositives;
+    private final ReentrantLock maintenanceLock = new ReentrantLock();
+    private final ReentrantLock filterLock = new ReentrantLock();
+    private volatile BloomFilter filter;
+    private List<String> addedDuringRebuild; // guarded by filterLock
+    private LocalDateTime watermark; // guarded by maintenanceLock
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository, JwtUtil jwtUtil,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${skillhive.auth.deny-list.expected-entries:100000}") int expectedEntries,
+                                  @Value("${skillhive.auth.deny-list.false-positive-rate:0.001}") double falsePositiveRate,
+                                  @Value("${skillhive.auth.deny-list.overlap-ms:10000}") long overlapMillis) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.jwtUtil = jwtUtil;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.overlapMillis = overlapMillis;
+        this.confirmedHits = Counter.builder("skillhive.auth.deny_list.lookups").tag("result", "revoked")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("skillhive.auth.deny_list.lookups").tag("result", "false_positive")
+                .register(meterRegistry);
+    }
+
+    // Loaded before the server takes requests, so no revoked token slips through at startup
+    @PostConstruct
+    void load() {
+        rebuild();
+    }
+
+    public boolean isRevoked(String jti, String username, Date issuedAt) {
+        BloomFilter current = filter;
+        boolean tokenHit = jti != null && current.mightContain(tokenKey(jti));
+        boolean userHit = username != null && current.mightContain(userKey(username));
+        if (!tokenHit && !userHit) {
+            return false;
+        }
+        boolean revoked = (tokenHit && revokedTokenRepository.existsByJti(jti))
+                || (userHit && issuedAt != null && revokedTokenRepository.existsByUsernameAndJtiIsNullAndRevokedAtAfter(
+                        username, LocalDateTime.ofInstant(issuedAt.toInstant(), ZoneId.systemDefault())));
+        (revoked ? confirmedHits : falsePositives).increment();
+        return revoked;
+    }
+
+    public void revokeToken(String jti, String username, Date expiresAt) {
+        LocalDateTime expiry = LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault());
+        if (jti == null || expiry.isBefore(LocalDateTime.now())) {
+            return;
+        }
+        revokedTokenRepository.save(new RevokedToken(null, jti, username, LocalDateTime.now(), expiry));
+        addKeys(List.of(tokenKey(jti)));
+    }
+
+    // Ends every access token of the user issued before now
+    public void revokeUser(String username) {
+        // Token iat has second precision; truncating keeps a token issued later in the
+        // same second valid (e.g. the login right after a logout everywhere)
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        revokedTokenRepository.save(new RevokedToken(null, null, username, now,
+                now.plusMinutes(jwtUtil.getAccessTokenMinutes()).plusSeconds(1)));
+        addKeys(List.of(userKey(username)));
+    }
+
+    // Re-reads a little before the watermark to catch rows committed late or stamped by
+    // another instance with a slightly different clock; adding a key twice is harmless
+    @Scheduled(fixedDelayString = "${skillhive.auth.deny-list.refresh-ms:5000}")
+    public void refresh() {
+        maintenanceLock.lock();
+        try {
+            LocalDateTime started = LocalDateTime.now();
+            List<RevokedToken> recent = revokedTokenRepository.findByRevokedAtGreaterThanEqual(
+                    watermark.minus(overlapMillis, ChronoUnit.MILLIS));
+            addKeys(recent.stream().map(TokenRevocationService::key).toList());
+            watermark = started;
+        } finally {
+            maintenanceLock.unlock();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${skillhive.auth.deny-list.rebuild-ms:3600000}",
+            fixedDelayString = "${skillhive.auth.deny-list.rebuild-ms:3600000}")
+    @Transactional
+    public void purgeAndRebuild() {
+        int purged = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        rebuild();
+        logger.info("Token deny list rebuilt, {} expired entries purged", purged);
+    }
+
+    private void rebuild() {
+        maintenanceLock.lock();
+        try {
+            // Keys revoked on this instance while the snapshot is read are collected and
+            // replayed into the new filter, whatever the order of their commit and our query
+            filterLock.lock();
+            try {
+                addedDuringRebuild = new ArrayList<>();
+            } finally {
+                filterLock.unlock();
+            }
+            LocalDateTime started = LocalDateTime.now();
+            List<RevokedToken> live = revokedTokenRepository.findByExpiresAtAfter(started);
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, 2 * live.size()), falsePositiveRate);
+            live.forEach(revoked -> rebuilt.add(key(revoked)));
+            filterLock.lock();
+            try {
+                addedDuringRebuild.forEach(rebuilt::add);
+                addedDuringRebuild = null;
+                // Swapped in only once complete, so readers never see a half-filled filter
+                filter = rebuilt;
+            } finally {
+                filterLock.unlock();
+            }
+            watermark = started;
+        } finally {
+            maintenanceLock.unlock();
+        }
+    }
+
+    private void addKeys(List<String> keys) {
+        filterLock.lock();
+        try {
+            keys.forEach(filter::add);
+            if (addedDuringRebuild != null) {
+                addedDuringRebuild.addAll(keys);
+            }
+        } finally {
+            filterLock.unlock();
+        }
+    }
+
+    private static String key(RevokedToken revoked) {
+        return revoked.getJti() != null ? tokenKey(revoked.getJti()) : userKey(revoked.getUsername());
+    }
+
+    private static String tokenKey(String jti) {
+        return "jti:" + jti;
+    }
+
+    private static String userKey(String username) {
+        return "user:" + username;
+    }
+}
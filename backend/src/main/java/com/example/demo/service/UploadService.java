@@ -0,0 +1,308 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Post;
+import com.example.demo.model.UploadSession;
+import com.example.demo.repository.UploadSessionRepository;
+import com.example.demo.util.MediaValidator;
+import com.example.demo.util.UploadDirectory;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Resumable (tus-style) uploads: create a session, PATCH chunks at the current offset,
+// then complete with a SHA-256. Each chunk is streamed from the request straight to its
+// final position in the target file and flushed before the offset is committed to Mongo,
+// so the stored offset never runs ahead of the bytes on disk.
+@Service
+public class UploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UploadService.class);
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final MongoTemplate mongoTemplate;
+    private final MediaValidator mediaValidator;
+    private final UploadDirectory uploadDirectory;
+    private final DistributionSummary chunkBytes;
+    private final long expireHours;
+    // Uploads with a chunk being written right now; a second PATCH for the same upload is rejected
+    private final Set<String> writing = ConcurrentHashMap.newKeySet();
+
+    public UploadService(UploadSessionRepository uploadSessionRepository, MongoTemplate mongoTemplate,
+                         MediaValidator mediaValidator, UploadDirectory uploadDirectory, MeterRegistry meterRegistry,
+                         @Value("${skillhive.uploads.expire-hours:24}") long expireHours) {
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.mediaValidator = mediaValidator;
+        this.uploadDirectory = uploadDirectory;
+        this.expireHours = expireHours;
+        this.chunkBytes = DistributionSummary.builder("skillhive.upload.chunk.bytes")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public UploadSession create(String ownerId, String filename, String contentType, long length) throws IOException {
+        Post.MediaType mediaType = mediaValidator.validateUpload(contentType, length);
+        String safeName = sanitize(filename);
+        UploadSession session = new UploadSession();
+        session.setOwnerId(ownerId);
+        session.setFilename(safeName);
+        session.setContentType(contentType);
+        session.setMediaType(mediaType);
+        session.setLength(length);
+        session.setOffset(0);
+        session.setStoredName(UUID.randomUUID() + "_" + safeName);
+        session.setStatus(UploadSession.Status.IN_PROGRESS);
+        session.setCreatedAt(LocalDateTime.now());
+        session.setUpdatedAt(LocalDateTime.now());
+        // Chunks are written at absolute positions, so the file only has to exist
+        Files.createFile(uploadDirectory.ensureExists().resolve(session.getStoredName()));
+        UploadSession saved = uploadSessionRepository.save(session);
+        logger.info("Created upload {} for {} ({} bytes, {})", saved.getId(), ownerId, length, contentType);
+        return saved;
+    }
+
+    public Optional<UploadSession> find(String id, String ownerId) {
+        return uploadSessionRepository.findById(id).filter(session -> session.getOwnerId().equals(ownerId));
+    }
+
+    // Writes one chunk at expectedOffset and returns the new offset. IllegalStateException
+    // means the client's offset is stale (or another chunk is in flight): it should HEAD and resume.
+    public long appendChunk(UploadSession session, long expectedOffset, InputStream body) throws IOException {
+        if (session.getStatus() != UploadSession.Status.IN_PROGRESS) {
+            throw new IllegalStateException("Upload " + session.getId() + " is " + session.getStatus());
+        }
+        if (expectedOffset != session.getOffset()) {
+            throw new IllegalStateException("Upload-Offset " + expectedOffset + " does not match " + session.getOffset());
+        }
+        if (!writing.add(session.getId())) {
+            throw new IllegalStateException("Another chunk for upload " + session.getId() + " is being written");
+        }
+        try {
+            long position = expectedOffset;
+            Path target = uploadDirectory.getRoot().resolve(session.getStoredName());
+            try (FileChannel channel = FileChannel.open(target, StandardOpenOption.WRITE)) {
+                byte[] buffer = new byte[COPY_BUFFER_SIZE];
+                ByteBuffer wrapped = ByteBuffer.wrap(buffer);
+                int read;
+                while ((read = body.read(buffer)) != -1) {
+                    if (position + read > session.getLength()) {
+                        throw new IllegalArgumentException("Chunk runs past the declared upload length " + session.getLength());
+                    }
+                    wrapped.clear().limit(read);
+                    while (wrapped.hasRemaining()) {
+                        position += channel.write(wrapped, position);
+                    }
+                }
+                channel.force(false);
+            }
+            Query query = Query.query(Criteria.where("id").is(session.getId())
+                    .and("offset").is(expectedOffset)
+                    .and("status").is(UploadSession.Status.IN_PROGRESS));
+            Update update = new Update().set("offset", position).set("updatedAt", LocalDateTime.now());
+            if (mongoTemplate.updateFirst(query, update, UploadSession.class).getModifiedCount() == 0 && position != expectedOffset) {
+                throw new IllegalStateException("Upload " + session.getId() + " changed while the chunk was written");
+            }
+            chunkBytes.record(position - expectedOffset);
+            session.setOffset(position);
+            return position;
+        } finally {
+            writing.remove(session.getId());
+        }
+    }
+
+    // Verifies the full length and the client's SHA-256, then marks the upload ready to attach
+    public UploadSession complete(UploadSession session, String sha256) throws IOException {
+        if (session.getStatus() == UploadSession.Status.COMPLETE && sha256.equalsIgnoreCase(session.getSha256())) {
+            return session; // Retried finalize
+        }
+        if (session.getStatus() != UploadSession.Status.IN_PROGRESS) {
+            throw new IllegalStateException("Upload " + session.getId() + " is " + session.getStatus());
+        }
+        if (session.getOffset() != session.getLength()) {
+            throw new IllegalStateException("Upload " + session.getId() + " has " + session.getOffset()
+                    + " of " + session.getLength() + " bytes");
+        }
+        String actual = digest(uploadDirectory.getRoot().resolve(session.getStoredName()));
+        // Both writes below only apply while the session is still the fully written upload
+        // that was hashed; an abort or sweep that removed it meanwhile must not be undone
+        Query hashed = Query.query(Criteria.where("id").is(session.getId())
+                .and("status").is(UploadSession.Status.IN_PROGRESS)
+                .and("offset").is(session.getLength()));
+        if (!actual.equalsIgnoreCase(sha256)) {
+            // The bytes on disk are not what the client sent; make it start over
+            if (mongoTemplate.updateFirst(hashed, new Update().set("offset", 0L).set("updatedAt", LocalDateTime.now()),
+                    UploadSession.class).getModifiedCount() == 0) {
+                throw new IllegalStateException("Upload " + session.getId() + " changed while it was verified");
+            }
+            logger.warn("Checksum mismatch for upload {}: expected {}, got {}", session.getId(), sha256, actual);
+            throw new IllegalArgumentException("Checksum mismatch, upload restarted from offset 0");
+        }
+        UploadSession completed = mongoTemplate.findAndModify(hashed,
+                new Update().set("sha256", actual)
+                        .set("status", UploadSession.Status.COMPLETE)
+                        .set("updatedAt", LocalDateTime.now()),
+                FindAndModifyOptions.options().returnNew(true),
+                UploadSession.class);
+        if (completed == null) {
+            throw new IllegalStateException("Upload " + session.getId() + " changed while it was verified");
+        }
+        logger.info("Upload {} complete ({} bytes)", session.getId(), session.getLength());
+        return completed;
+    }
+
+    // Hands completed uploads of ownerId over to a post. All ids must be complete; each can
+    // be attached once. Uploads of other users are reported as not found.
+    public List<Post.Media> attach(String ownerId, List<String> uploadIds) {
+        List<UploadSession> sessions = new ArrayList<>();
+        for (String uploadId : uploadIds) {
+            UploadSession session = find(uploadId, ownerId)
+                    .orElseThrow(() -> new IllegalArgumentException("Upload not found: " + uploadId));
+            if (session.getStatus() != UploadSession.Status.COMPLETE) {
+                throw new IllegalArgumentException("Upload " + uploadId + " is " + session.getStatus());
+            }
+            sessions.add(session);
+        }
+        List<String> attached = new ArrayList<>();
+        List<Post.Media> media = new ArrayList<>();
+        for (UploadSession session : sessions) {
+            UploadSession claimed = mongoTemplate.findAndModify(
+                    Query.query(Criteria.where("id").is(session.getId())
+                            .and("ownerId").is(ownerId)
+                            .and("status").is(UploadSession.Status.COMPLETE)),
+                    new Update().set("status", UploadSession.Status.ATTACHED).set("updatedAt", LocalDateTime.now()),
+                    FindAndModifyOptions.options().returnNew(true),
+                    UploadSession.class);
+            if (claimed == null) {
+                release(ownerId, attached);
+                throw new IllegalArgumentException("Upload " + session.getId() + " is already attached");
+            }
+            attached.add(claimed.getId());
+            Post.Media item = new Post.Media();
+            item.setPath(claimed.getStoredName());
+            item.setType(claimed.getMediaType());
+            media.add(item);
+        }
+        return media;
+    }
+
+    // Undoes attach for a post write that failed, so the uploads can be attached again
+    // (or expire) instead of staying ATTACHED with no post referencing them
+    public void release(String ownerId, List<String> uploadIds) {
+        if (uploadIds == null || uploadIds.isEmpty()) {
+            return;
+        }
+        mongoTemplate.updateMulti(Query.query(Criteria.where("id").in(uploadIds)
+                        .and("ownerId").is(ownerId)
+                        .and("status").is(UploadSession.Status.ATTACHED)),
+                new Update().set("status", UploadSession.Status.COMPLETE).set("updatedAt", LocalDateTime.now()),
+                UploadSession.class);
+    }
+
+    // Drops the sessions of attached uploads whose files a post edit replaced and deleted
+    public void forget(List<String> storedNames) {
+        if (storedNames.isEmpty()) {
+            return;
+        }
+        mongoTemplate.remove(Query.query(Criteria.where("storedName").in(storedNames)
+                .and("status").is(UploadSession.Status.ATTACHED)), UploadSession.class);
+    }
+
+    public void abort(UploadSession session) throws IOException {
+        UploadSession removed = removeIfUnattached(Criteria.where("id").is(session.getId()));
+        if (removed == null) {
+            throw new IllegalStateException("Upload " + session.getId() + " is attached to a post or already removed");
+        }
+        deleteFile(removed);
+    }
+
+    // Removes uploads that were abandoned or completed but never attached
+    @Scheduled(fixedDelayString = "${skillhive.uploads.sweep-interval-ms:3600000}")
+    public void expireStaleUploads() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(expireHours);
+        List<UploadSession> stale = uploadSessionRepository.findByStatusInAndUpdatedAtBefore(
+                List.of(UploadSession.Status.IN_PROGRESS, UploadSession.Status.COMPLETE), cutoff);
+        int expired = 0;
+        for (UploadSession session : stale) {
+            // Re-checked on removal: the upload may have been attached or resumed since the query
+            UploadSession removed = removeIfUnattached(
+                    Criteria.where("id").is(session.getId()).and("updatedAt").lt(cutoff));
+            if (removed == null) {
+                continue;
+            }
+            expired++;
+            try {
+                deleteFile(removed);
+            } catch (IOException e) {
+                logger.warn("Failed to delete expired upload {}: {}", removed.getId(), e.getMessage());
+            }
+        }
+        if (expired > 0) {
+            logger.info("Expired {} stale uploads", expired);
+        }
+    }
+
+    // Claims the session by removing it, only while it is not attached; whoever gets it
+    // back owns the file, so an upload attached to a post in the meantime is left alone
+    private UploadSession removeIfUnattached(Criteria criteria) {
+        return mongoTemplate.findAndRemove(Query.query(criteria.and("status")
+                .in(UploadSession.Status.IN_PROGRESS, UploadSession.Status.COMPLETE)), UploadSession.class);
+    }
+
+    private void deleteFile(UploadSession session) throws IOException {
+        Files.deleteIfExists(uploadDirectory.getRoot().resolve(session.getStoredName()));
+        logger.info("Deleted upload {}", session.getId());
+    }
+
+    private static String digest(Path file) throws IOException {
+        MessageDigest sha256;
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(COPY_BUFFER_SIZE);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                sha256.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(sha256.digest());
+    }
+
+    // Keep only the last path element and characters that are safe in a file name
+    private static String sanitize(String filename) {
+        String name = filename == null ? "" : filename.substring(Math.max(filename.lastIndexOf('/'), filename.lastIndexOf('\\')) + 1);
+        name = name.replaceAll("[^A-Za-z0-9._-]", "_");
+        return name.isEmpty() || name.startsWith(".") ? "upload" + name : name;
+    }
+}
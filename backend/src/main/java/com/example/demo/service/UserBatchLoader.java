@@ -0,0 +1,134 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Post;
+import com.example.demo.model.User;
+import com.example.demo.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Resolves post and comment authors from the user store. Posts keep the creatorName
+// they were written with, but what is returned is the current username: every distinct
+// creator id on a page is looked up with one findAllById, behind a short-TTL cache.
+@Service
+@Transactional(readOnly = true)
+public class UserBatchLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserBatchLoader.class);
+
+    private final UserRepository userRepository;
+    private final Cache<Long, String> usernames;
+
+    public UserBatchLoader(UserRepository userRepository,
+                           @Value("${skillhive.users.name-cache-ttl-seconds:30}") long ttlSeconds,
+                           @Value("${skillhive.users.name-cache-size:10000}") long maximumSize) {
+        this.userRepository = userRepository;
+        this.usernames = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    // Set the current username on each post and its comments
+    public void enrich(Collection<Post> posts) {
+        if (posts == null || posts.isEmpty()) {
+            return;
+        }
+        Set<String> creatorIds = new HashSet<>();
+        for (Post post : posts) {
+            creatorIds.add(post.getCreatorId());
+            if (post.getComments() != null) {
+                post.getComments().forEach(comment -> creatorIds.add(comment.getCreatorId()));
+            }
+        }
+        Map<Long, String> names = usernames(creatorIds);
+        for (Post post : posts) {
+            String name = nameFor(names, post.getCreatorId());
+            if (name != null) {
+                post.setCreatorName(name);
+            }
+            applyToComments(post.getComments(), names);
+        }
+    }
+
+    public void enrich(Post post) {
+        if (post != null) {
+            enrich(List.of(post));
+        }
+    }
+
+    public void enrichComments(Collection<Post.Comment> comments) {
+        if (comments == null || comments.isEmpty()) {
+            return;
+        }
+        Set<String> creatorIds = new HashSet<>();
+        comments.forEach(comment -> creatorIds.add(comment.getCreatorId()));
+        applyToComments(comments, usernames(creatorIds));
+    }
+
+    // Usernames for the given ids; ids that are not numeric or have no user are left out
+    public Map<Long, String> usernames(Collection<String> userIds) {
+        Set<Long> ids = new HashSet<>();
+        for (String userId : userIds) {
+            Long id = parseId(userId);
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return usernames.getAll(ids, this::load);
+    }
+
+    // Called by the cache with only the ids it does not hold
+    private Map<Long, String> load(Set<? extends Long> missing) {
+        Map<Long, String> loaded = new HashMap<>();
+        for (User user : userRepository.findAllById(new ArrayList<>(missing))) {
+            loaded.put(user.getId(), user.getUsername());
+        }
+        logger.debug("Loaded {} of {} users in one batch", loaded.size(), missing.size());
+        return loaded;
+    }
+
+    private static void applyToComments(Collection<Post.Comment> comments, Map<Long, String> names) {
+        if (comments == null) {
+            return;
+        }
+        for (Post.Comment comment : comments) {
+            String name = nameFor(names, comment.getCreatorId());
+            if (name != null) {
+                comment.setCreatorName(name);
+            }
+        }
+    }
+
+    private static String nameFor(Map<Long, String> names, String userId) {
+        Long id = parseId(userId);
+        return id != null ? names.get(id) : null;
+    }
+
+    private static Long parseId(String userId) {
+        if (userId == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(userId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -1,18 +1,58 @@
 package com.example.demo.service;
 
 import com.example.demo.model.User;
+import com.example.demo.model.UserRecommendations;
 import com.example.demo.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
     private final UserRepository userRepository;
+    private final MongoTemplate mongoTemplate;
+    private final UserBatchLoader userBatchLoader;
 
+    @Transactional(readOnly = true)
     public User getUserByUsername(String username) {
         return userRepository.findByUsername(username)
             .orElseThrow(() -> new RuntimeException("User not found"));
     }
-}
\ No newline at end of file
+
+    // Precomputed by PeopleRecommendationJob; users deleted since the run are left out
+    public List<UserRecommendations.Recommendation> getRecommendations(User user) {
+        UserRecommendations stored = mongoTemplate.findById(String.valueOf(user.getId()), UserRecommendations.class);
+        if (stored == null) {
+            return List.of();
+        }
+        List<String> ids = stored.getRecommendations().stream()
+                .map(UserRecommendations.Recommendation::getUserId)
+                .toList();
+        Map<Long, String> usernames = userBatchLoader.usernames(ids);
+        List<UserRecommendations.Recommendation> recommendations = new ArrayList<>();
+        for (UserRecommendations.Recommendation recommendation : stored.getRecommendations()) {
+            Long id = parseId(recommendation.getUserId());
+            String username = id != null ? usernames.get(id) : null;
+            if (username != null) {
+                recommendation.setUsername(username);
+                recommendations.add(recommendation);
+            }
+        }
+        return recommendations;
+    }
+
+    private static Long parseId(String userId) {
+        try {
+            return Long.valueOf(userId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
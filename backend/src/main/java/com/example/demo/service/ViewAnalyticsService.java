@@ -0,0 +1,244 @@
+package com.example.demo.service;
+
+import com.example.demo.model.ViewStats;
+import com.example.demo.model.ViewStatsReport;
+import com.example.demo.util.HyperLogLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// View counts and unique viewers per post/skill and day. Views land in an in-memory window
+// per object (a LongAdder and a 4KB HyperLogLog sketch); the scheduled flush adds the counts
+// to view_stats and merges the sketch into the stored one. Windows with no views since the
+// last flush are dropped, so memory follows the number of recently viewed objects.
+@Service
+public class ViewAnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ViewAnalyticsService.class);
+    private static final int MAX_MERGE_ATTEMPTS = 5;
+    private static final int MAX_REPORT_DAYS = 366;
+
+    private final MongoTemplate mongoTemplate;
+    private final int maxWindows;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private final Counter viewsRecorded;
+    private final Counter viewsDropped;
+    private final Counter flushFailures;
+
+    public ViewAnalyticsService(MongoTemplate mongoTemplate, MeterRegistry meterRegistry,
+                                @Value("${skillhive.analytics.max-windows:10000}") int maxWindows) {
+        this.mongoTemplate = mongoTemplate;
+        this.maxWindows = maxWindows;
+        this.viewsRecorded = Counter.builder("skillhive.analytics.views").register(meterRegistry);
+        this.viewsDropped = Counter.builder("skillhive.analytics.views.dropped").register(meterRegistry);
+        this.flushFailures = Counter.builder("skillhive.analytics.flush.failures").register(meterRegistry);
+        meterRegistry.gaugeMapSize("skillhive.analytics.windows", List.of(), windows);
+    }
+
+    public void recordView(ViewStats.ObjectType objectType, String objectId, HttpServletRequest request) {
+        record(objectType, objectId, viewerKey(request));
+    }
+
+    public void recordViews(ViewStats.ObjectType objectType, Collection<String> objectIds, HttpServletRequest request) {
+        String viewer = viewerKey(request);
+        for (String objectId : objectIds) {
+            record(objectType, objectId, viewer);
+        }
+    }
+
+    private void record(ViewStats.ObjectType objectType, String objectId, String viewer) {
+        if (objectId == null) {
+            return;
+        }
+        LocalDate day = today();
+        String id = ViewStats.idFor(objectType, objectId, day);
+        // Recorded inside compute so a view is ordered against the idle-window removal in
+        // flush(): it lands either in a window still in the map or in a fresh one
+        Window window = windows.compute(id, (key, current) -> {
+            if (current == null) {
+                // Cap on the sketches held between flushes; overflow is counted, not stored
+                if (windows.size() >= maxWindows) {
+                    return null;
+                }
+                current = new Window(key, objectType, objectId, day);
+            }
+            current.views.increment();
+            current.viewers.offer(viewer);
+            return current;
+        });
+        (window != null ? viewsRecorded : viewsDropped).increment();
+    }
+
+    // Windows with pending views are flushed; a failed flush leaves them pending, so they
+    // stay in the map and are retried next time. Only a window with nothing pending is
+    // removed, and the check runs under the map's lock for that key.
+    @Scheduled(fixedDelayString = "${skillhive.analytics.flush-interval-ms:60000}")
+    public void flush() {
+        for (Window window : windows.values()) {
+            if (window.views.sum() > 0) {
+                flush(window);
+            } else {
+                windows.computeIfPresent(window.id,
+                        (id, current) -> current == window && current.views.sum() == 0 ? null : current);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void flush(Window window) {
+        long views = window.views.sum();
+        try {
+            merge(window, views);
+            window.views.add(-views);
+        } catch (RuntimeException e) {
+            // Kept in memory; the sketch merge is idempotent and the views are still pending
+            flushFailures.increment();
+            logger.warn("Flushing view stats {} failed: {}", window.id, e.getMessage());
+        }
+    }
+
+    // Optimistic read-merge-write against the stored document
+    private void merge(Window window, long views) {
+        for (int attempt = 0; attempt < MAX_MERGE_ATTEMPTS; attempt++) {
+            ViewStats stored = mongoTemplate.findById(window.id, ViewStats.class);
+            if (stored == null) {
+                ViewStats stats = new ViewStats();
+                stats.setId(window.id);
+                stats.setObjectType(window.objectType);
+                stats.setObjectId(window.objectId);
+                stats.setDay(window.day);
+                stats.setViews(views);
+                stats.setViewers(window.viewers.toBytes());
+                try {
+                    mongoTemplate.insert(stats);
+                    return;
+                } catch (DuplicateKeyException e) {
+                    continue;
+                }
+            }
+            HyperLogLog viewers = HyperLogLog.fromBytes(stored.getViewers());
+            viewers.merge(window.viewers);
+            Query current = Query.query(Criteria.where("id").is(window.id).and("version").is(stored.getVersion()));
+            Update update = new Update()
+                    .inc("views", views)
+                    .set("viewers", viewers.toBytes())
+                    .inc("version", 1);
+            if (mongoTemplate.updateFirst(current, update, ViewStats.class).getModifiedCount() == 1) {
+                return;
+            }
+        }
+        throw new OptimisticLockingFailureException("View stats " + window.id + " changed concurrently");
+    }
+
+    // Stored days plus whatever has not been flushed yet
+    public ViewStatsReport report(ViewStats.ObjectType objectType, String objectId, LocalDate from, LocalDate to) {
+        if (to == null) {
+            to = today();
+        }
+        if (from == null) {
+            from = to.minusDays(29);
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_REPORT_DAYS) {
+            throw new IllegalArgumentException("Range is limited to " + MAX_REPORT_DAYS + " days");
+        }
+
+        Query query = Query.query(Criteria.where("objectType").is(objectType)
+                        .and("objectId").is(objectId)
+                        .and("day").gte(from).lte(to))
+                .with(Sort.by("day"));
+        Map<LocalDate, DayTotals> days = new LinkedHashMap<>();
+        for (ViewStats stats : mongoTemplate.find(query, ViewStats.class)) {
+            DayTotals totals = days.computeIfAbsent(stats.getDay(), d -> new DayTotals());
+            totals.views += stats.getViews();
+            totals.viewers.merge(HyperLogLog.fromBytes(stats.getViewers()));
+        }
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            Window window = windows.get(ViewStats.idFor(objectType, objectId, day));
+            if (window != null) {
+                DayTotals totals = days.computeIfAbsent(day, d -> new DayTotals());
+                totals.views += window.views.sum();
+                totals.viewers.merge(window.viewers);
+            }
+        }
+
+        HyperLogLog rangeViewers = new HyperLogLog();
+        long rangeViews = 0;
+        List<ViewStatsReport.Day> dayReports = days.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(e -> new ViewStatsReport.Day(e.getKey(), e.getValue().views, e.getValue().viewers.estimate()))
+                .toList();
+        for (DayTotals totals : days.values()) {
+            rangeViews += totals.views;
+            rangeViewers.merge(totals.viewers);
+        }
+        return new ViewStatsReport(objectType, objectId, from, to, rangeViews, rangeViewers.estimate(), dayReports);
+    }
+
+    // Signed-in users count once across devices; anonymous viewers by address
+    private static String viewerKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "addr:" + request.getRemoteAddr();
+    }
+
+    private static LocalDate today() {
+        return LocalDate.now(ZoneOffset.UTC);
+    }
+
+    private static final class Window {
+        final String id;
+        final ViewStats.ObjectType objectType;
+        final String objectId;
+        final LocalDate day;
+        final LongAdder views = new LongAdder();
+        final HyperLogLog viewers = new HyperLogLog();
+
+        Window(String id, ViewStats.ObjectType objectType, String objectId, LocalDate day) {
+            this.id = id;
+            this.objectType = objectType;
+            this.objectId = objectId;
+            this.day = day;
+        }
+    }
+
+    private static final class DayTotals {
+        long views;
+        final HyperLogLog viewers = new HyperLogLog();
+    }
+}
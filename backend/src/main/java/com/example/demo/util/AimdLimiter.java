@@ -0,0 +1,64 @@
+package com.example.demo.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Adaptive concurrency limit (additive increase, multiplicative decrease). Requests that
+// finish under the latency threshold while the pool is at least half used raise the limit
+// by one; a slow or failed request cuts it by backoffRatio. When the database slows down
+// the limit shrinks towards what it can serve, and excess requests are refused up front
+// instead of queueing on server threads.
+public final class AimdLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    public AimdLimiter(int initialLimit, int minLimit, int maxLimit, long latencyThresholdMillis, double backoffRatio) {
+        if (minLimit < 1 || maxLimit < minLimit || backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Invalid limiter settings");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMillis);
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    // Takes a slot, or returns false when the pool is at its limit
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // Returns the slot taken by tryAcquire and adjusts the limit from how the request went
+    public void release(long latencyNanos, boolean failed) {
+        int before = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (failed || latencyNanos > latencyThresholdNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if (before * 2 >= limit) {
+                // Only grow while the limit is actually being used
+                limit = Math.min(maxLimit, limit + 1);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
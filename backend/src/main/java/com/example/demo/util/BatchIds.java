@@ -0,0 +1,31 @@
+package com.example.demo.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+// Validation shared by the batch read endpoints
+public final class BatchIds {
+
+    // Keeps one batch to a single bounded IN query and a response of reasonable size
+    public static final int MAX_IDS = 100;
+
+    private BatchIds() {
+    }
+
+    // Distinct ids to look up; rejects empty, blank and oversized batches
+    public static <K> List<K> distinct(List<K> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one id is required");
+        }
+        if (ids.size() > MAX_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_IDS + " ids per request");
+        }
+        for (K id : ids) {
+            if (id == null || id.toString().isBlank()) {
+                throw new IllegalArgumentException("Ids must not be blank");
+            }
+        }
+        return new ArrayList<>(new LinkedHashSet<>(ids));
+    }
+}
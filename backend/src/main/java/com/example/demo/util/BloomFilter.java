@@ -0,0 +1,71 @@
+package com.example.demo.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Fixed-size bloom filter over strings. mightContain never misses an added key and is
+// wrong about an absent key with roughly the configured probability while the filter holds
+// no more than expectedEntries keys. Keys cannot be removed; callers rebuild a fresh filter
+// instead. Adds and lookups may run concurrently without locking.
+public final class BloomFilter {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+
+    public BloomFilter(int expectedEntries, double falsePositiveRate) {
+        if (expectedEntries < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid bloom filter settings");
+        }
+        // Optimal sizing: m = -n ln p / (ln 2)^2 bits and k = m / n ln 2 hash functions
+        long optimalBits = (long) Math.ceil(-expectedEntries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.max(1, (optimalBits + 63) / 64);
+        this.words = new AtomicLongArray(wordCount);
+        this.bits = (long) wordCount * 64;
+        this.hashes = Math.max(1, (int) Math.round((double) bits / expectedEntries * Math.log(2)));
+    }
+
+    public void add(String key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, bits);
+            long mask = 1L << bit;
+            int word = (int) (bit >>> 6);
+            if ((words.get(word) & mask) == 0) {
+                words.getAndAccumulate(word, mask, (current, set) -> current | set);
+            }
+        }
+    }
+
+    public boolean mightContain(String key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, bits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 64-bit FNV-1a finished with the murmur3 mixer; its halves drive double hashing
+    private static long hash(String key) {
+        long h = FNV_OFFSET;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h = (h ^ (b & 0xff)) * FNV_PRIME;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.demo.util;
+
+import org.springframework.core.io.AbstractResource;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+// Read-only Resource over a (typically direct) ByteBuffer. Each stream works on its own
+// duplicate, so one buffer can be served to many requests at once without copying it.
+public class ByteBufferResource extends AbstractResource {
+
+    private final ByteBuffer buffer;
+    private final String description;
+
+    public ByteBufferResource(ByteBuffer buffer, String description) {
+        this.buffer = buffer.asReadOnlyBuffer();
+        this.description = description;
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        ByteBuffer view = buffer.duplicate();
+        return new InputStream() {
+            @Override
+            public int read() {
+                return view.hasRemaining() ? view.get() & 0xFF : -1;
+            }
+
+            @Override
+            public int read(byte[] bytes, int off, int len) {
+                if (len == 0) {
+                    return 0;
+                }
+                if (!view.hasRemaining()) {
+                    return -1;
+                }
+                int count = Math.min(len, view.remaining());
+                view.get(bytes, off, count);
+                return count;
+            }
+
+            @Override
+            public long skip(long n) {
+                int count = (int) Math.max(0, Math.min(n, view.remaining()));
+                view.position(view.position() + count);
+                return count;
+            }
+
+            @Override
+            public int available() {
+                return view.remaining();
+            }
+        };
+    }
+
+    @Override
+    public long contentLength() {
+        return buffer.remaining();
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public String getDescription() {
+        return "ByteBuffer resource [" + description + "]";
+    }
+}
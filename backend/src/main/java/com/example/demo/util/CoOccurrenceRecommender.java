@@ -0,0 +1,155 @@
+package com.example.demo.util;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+// Top-k similar users from a user -> item bipartite graph. Two users score the summed
+// weight of the items they share; an item's weight is its kind weight damped by
+// log(2 + users of the item), so a shared niche skill counts more than a shared popular
+// category. Items with more than maxItemUsers users (big categories, viral posts) link
+// each user only to the maxItemUsers users around it in id order, which keeps the work
+// per user bounded instead of quadratic in the item size.
+//
+// Users are scored in parallel on a ForkJoinPool; each worker reuses one dense score
+// array and a touched list, so a run allocates nothing per user.
+public final class CoOccurrenceRecommender {
+
+    private final IntAdjacency userItems;
+    private final IntAdjacency itemUsers;
+    private final float[] itemWeights;
+    private final int topK;
+    private final int maxItemUsers;
+
+    // Top recommendations, k slots per user; empty slots hold user -1
+    public record Result(int topK, int[] users, float[] scores) {
+    }
+
+    public CoOccurrenceRecommender(IntAdjacency userItems, float[] itemKindWeights, int topK, int maxItemUsers) {
+        this.userItems = userItems;
+        this.itemUsers = userItems.transpose(itemKindWeights.length);
+        this.itemWeights = new float[itemKindWeights.length];
+        for (int item = 0; item < itemKindWeights.length; item++) {
+            itemWeights[item] = (float) (itemKindWeights[item] / Math.log(2 + itemUsers.degree(item)));
+        }
+        this.topK = topK;
+        this.maxItemUsers = maxItemUsers;
+    }
+
+    public Result run(ForkJoinPool pool) throws InterruptedException {
+        int users = userItems.rows();
+        int[] topUsers = new int[users * topK];
+        float[] topScores = new float[users * topK];
+        Arrays.fill(topUsers, -1);
+        ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(() -> new Scratch(users, topK));
+        try {
+            pool.submit(() -> IntStream.range(0, users).parallel()
+                    .forEach(user -> recommend(user, scratch.get(), topUsers, topScores))).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Recommendation run failed", e.getCause());
+        }
+        return new Result(topK, topUsers, topScores);
+    }
+
+    private void recommend(int user, Scratch s, int[] topUsers, float[] topScores) {
+        int[] neighbours = itemUsers.targets();
+        int touched = 0;
+        for (int p = userItems.start(user); p < userItems.end(user); p++) {
+            int item = userItems.targets()[p];
+            int from = itemUsers.start(item);
+            int to = itemUsers.end(item);
+            if (to - from > maxItemUsers) {
+                int position = Arrays.binarySearch(neighbours, from, to, user);
+                from = Math.max(from, position - maxItemUsers / 2);
+                to = Math.min(to, from + maxItemUsers);
+            }
+            float weight = itemWeights[item];
+            for (int q = from; q < to; q++) {
+                int other = neighbours[q];
+                if (other == user) {
+                    continue;
+                }
+                if (s.scores[other] == 0f) {
+                    s.touched[touched++] = other;
+                }
+                s.scores[other] += weight;
+            }
+        }
+
+        // Min-heap of the best k; the root is the weakest kept candidate
+        int size = 0;
+        for (int i = 0; i < touched; i++) {
+            int other = s.touched[i];
+            float score = s.scores[other];
+            s.scores[other] = 0f;
+            if (size < topK) {
+                s.heapUsers[size] = other;
+                s.heapScores[size] = score;
+                siftUp(s, size++);
+            } else if (score > s.heapScores[0]) {
+                s.heapUsers[0] = other;
+                s.heapScores[0] = score;
+                siftDown(s, 0, size);
+            }
+        }
+        // Popping the heap yields ascending scores; fill the slots from the back
+        int base = user * topK;
+        for (int slot = size - 1; slot >= 0; slot--) {
+            topUsers[base + slot] = s.heapUsers[0];
+            topScores[base + slot] = s.heapScores[0];
+            s.heapUsers[0] = s.heapUsers[slot];
+            s.heapScores[0] = s.heapScores[slot];
+            siftDown(s, 0, slot);
+        }
+    }
+
+    private static void siftUp(Scratch s, int i) {
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (s.heapScores[parent] <= s.heapScores[i]) {
+                return;
+            }
+            swap(s, i, parent);
+            i = parent;
+        }
+    }
+
+    private static void siftDown(Scratch s, int i, int size) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                return;
+            }
+            int smallest = left + 1 < size && s.heapScores[left + 1] < s.heapScores[left] ? left + 1 : left;
+            if (s.heapScores[i] <= s.heapScores[smallest]) {
+                return;
+            }
+            swap(s, i, smallest);
+            i = smallest;
+        }
+    }
+
+    private static void swap(Scratch s, int a, int b) {
+        int user = s.heapUsers[a];
+        float score = s.heapScores[a];
+        s.heapUsers[a] = s.heapUsers[b];
+        s.heapScores[a] = s.heapScores[b];
+        s.heapUsers[b] = user;
+        s.heapScores[b] = score;
+    }
+
+    private static final class Scratch {
+        final float[] scores;
+        final int[] touched;
+        final int[] heapUsers;
+        final float[] heapScores;
+
+        Scratch(int users, int topK) {
+            this.scores = new float[users];
+            this.touched = new int[users];
+            this.heapUsers = new int[topK];
+            this.heapScores = new float[topK];
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.demo.util;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Parsed fields= parameter of the read endpoints. Top-level property names of the entity are
+// accepted; "id" is always returned. The selection drives the database projection (Mongo
+// field includes, JPA tuple selects) and the response filter, so unrequested fields are
+// neither read nor written.
+public final class FieldSelection {
+
+    // @JsonFilter id on the entities that support sparse fieldsets
+    public static final String FILTER_ID = "fields";
+
+    public static final FieldSelection ALL = new FieldSelection(null);
+
+    private static final ClassValue<Set<String>> PROPERTIES = new ClassValue<>() {
+        @Override
+        protected Set<String> computeValue(Class<?> type) {
+            return Arrays.stream(type.getDeclaredFields())
+                    .filter(field -> !Modifier.isStatic(field.getModifiers()))
+                    .map(Field::getName)
+                    .collect(Collectors.toUnmodifiableSet());
+        }
+    };
+
+    private final Set<String> fields; // null means everything
+
+    private FieldSelection(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    // "title,likes" against the properties of type; blank means all fields
+    public static FieldSelection parse(String fields, Class<?> type) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> allowed = PROPERTIES.get(type);
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add("id");
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(name)) {
+                throw new IllegalArgumentException("Unknown field '" + name + "' for " + type.getSimpleName());
+            }
+            selected.add(name);
+        }
+        return new FieldSelection(Collections.unmodifiableSet(selected));
+    }
+
+    public boolean isAll() {
+        return fields == null;
+    }
+
+    public boolean includes(String field) {
+        return fields == null || fields.contains(field);
+    }
+
+    public Set<String> fields() {
+        return fields;
+    }
+
+    // Adds the Mongo projection plus any fields the service needs to compute a selected one
+    public Query project(Query query, String... alsoRead) {
+        if (fields != null) {
+            fields.forEach(field -> query.fields().include(field));
+            for (String field : alsoRead) {
+                query.fields().include(field);
+            }
+        }
+        return query;
+    }
+
+    // Response body that serializes only the selected fields of @JsonFilter(FILTER_ID) types
+    public MappingJacksonValue filter(Object body) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        SimpleBeanPropertyFilter filter = fields == null
+                ? SimpleBeanPropertyFilter.serializeAll()
+                : SimpleBeanPropertyFilter.filterOutAllExcept(fields);
+        value.setFilters(new SimpleFilterProvider().addFilter(FILTER_ID, filter));
+        return value;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.demo.util;
+
+import java.util.Arrays;
+
+// Compressed sparse rows over dense int ids: row r's targets are
+// targets[offsets[r] .. offsets[r + 1]), sorted and without duplicates. Two int arrays
+// instead of per-row objects keep million-row graphs at a few bytes per edge.
+public final class IntAdjacency {
+
+    private final int[] offsets;
+    private final int[] targets;
+
+    private IntAdjacency(int[] offsets, int[] targets) {
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    public int rows() {
+        return offsets.length - 1;
+    }
+
+    public int start(int row) {
+        return offsets[row];
+    }
+
+    public int end(int row) {
+        return offsets[row + 1];
+    }
+
+    public int degree(int row) {
+        return offsets[row + 1] - offsets[row];
+    }
+
+    public int[] targets() {
+        return targets;
+    }
+
+    // The same edges with rows and targets swapped; rows of the result stay sorted
+    public IntAdjacency transpose(int columns) {
+        int[] counts = new int[columns + 1];
+        for (int target : targets) {
+            counts[target + 1]++;
+        }
+        for (int c = 0; c < columns; c++) {
+            counts[c + 1] += counts[c];
+        }
+        int[] transposed = new int[targets.length];
+        int[] next = Arrays.copyOf(counts, columns);
+        for (int row = 0; row < rows(); row++) {
+            for (int p = offsets[row]; p < offsets[row + 1]; p++) {
+                transposed[next[targets[p]]++] = row;
+            }
+        }
+        return new IntAdjacency(counts, transposed);
+    }
+
+    // Edge list that grows in place; build() turns it into rows by counting sort
+    public static final class Builder {
+        private int[] from = new int[1024];
+        private int[] to = new int[1024];
+        private int size;
+
+        public void add(int row, int target) {
+            if (size == from.length) {
+                from = Arrays.copyOf(from, size * 2);
+                to = Arrays.copyOf(to, size * 2);
+            }
+            from[size] = row;
+            to[size] = target;
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public IntAdjacency build(int rows) {
+            int[] counts = new int[rows + 1];
+            for (int i = 0; i < size; i++) {
+                counts[from[i] + 1]++;
+            }
+            for (int r = 0; r < rows; r++) {
+                counts[r + 1] += counts[r];
+            }
+            int[] sorted = new int[size];
+            int[] next = Arrays.copyOf(counts, rows);
+            for (int i = 0; i < size; i++) {
+                sorted[next[from[i]]++] = to[i];
+            }
+            // Sort each row and squeeze out repeated edges
+            int[] offsets = new int[rows + 1];
+            int write = 0;
+            for (int r = 0; r < rows; r++) {
+                int start = counts[r];
+                int end = counts[r + 1];
+                Arrays.sort(sorted, start, end);
+                offsets[r] = write;
+                for (int p = start; p < end; p++) {
+                    if (p == start || sorted[p] != sorted[p - 1]) {
+                        sorted[write++] = sorted[p];
+                    }
+                }
+            }
+            offsets[rows] = write;
+            return new IntAdjacency(offsets, Arrays.copyOf(sorted, write));
+        }
+    }
+}
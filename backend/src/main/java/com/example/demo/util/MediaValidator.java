@@ -1,5 +1,6 @@
 package com.example.demo.util;
 
+import com.example.demo.model.Post;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -9,6 +10,7 @@ import org.springframework.web.multipart.MultipartFile;
 public class MediaValidator {
     private static final Logger logger = LoggerFactory.getLogger(MediaValidator.class);
     private static final long MAX_FILE_SIZE = 10 * 1024 * 1024; // 10MB
+    private static final long MAX_CHUNKED_VIDEO_SIZE = 1024L * 1024 * 1024; // 1GB, resumable uploads only
     private static final String[] ALLOWED_IMAGE_TYPES = {"image/jpeg", "image/png"};
     private static final String[] ALLOWED_VIDEO_TYPES = {"video/mp4"};
 
@@ -25,6 +27,37 @@ public class MediaValidator {
         }
     }
 
+    // Checks a resumable upload before any bytes are accepted. Images keep the multipart
+    // limit; videos may be larger because they are written chunk by chunk to disk.
+    public Post.MediaType validateUpload(String contentType, long length) {
+        if (length <= 0) {
+            throw new IllegalArgumentException("Upload length must be positive");
+        }
+        if (matches(contentType, ALLOWED_IMAGE_TYPES)) {
+            if (length > MAX_FILE_SIZE) {
+                throw new IllegalArgumentException("Image file size exceeds 10MB");
+            }
+            return Post.MediaType.IMAGE;
+        }
+        if (matches(contentType, ALLOWED_VIDEO_TYPES)) {
+            if (length > MAX_CHUNKED_VIDEO_SIZE) {
+                throw new IllegalArgumentException("Video file size exceeds 1GB");
+            }
+            return Post.MediaType.VIDEO;
+        }
+        logger.error("Invalid upload file type: {}", contentType);
+        throw new IllegalArgumentException("Invalid upload file type: " + contentType);
+    }
+
+    private static boolean matches(String contentType, String[] allowedTypes) {
+        for (String type : allowedTypes) {
+            if (type.equalsIgnoreCase(contentType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private void validateFile(MultipartFile file, String[] allowedTypes, String fileType) {
         if (file.getSize() > MAX_FILE_SIZE) {
             logger.error("{} file size exceeds limit: {}", fileType, file.getSize());
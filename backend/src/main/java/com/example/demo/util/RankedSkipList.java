@@ -0,0 +1,154 @@
+package com.example.demo.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Indexable skip list: every forward link stores how many elements it skips, so
+// insert, remove, rank and positional lookups are all O(log n).
+// Not thread-safe; callers guard it (see Leaderboard).
+public class RankedSkipList<E> {
+
+    private static final int MAX_LEVEL = 32;
+
+    private final Comparator<? super E> comparator;
+    private final Node<E> head = new Node<>(null, MAX_LEVEL);
+    private int level = 1;
+    private int size;
+
+    public RankedSkipList(Comparator<? super E> comparator) {
+        this.comparator = comparator;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void insert(E value) {
+        @SuppressWarnings("unchecked")
+        Node<E>[] update = (Node<E>[]) new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+        Node<E> x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (x.next[i] != null && comparator.compare(x.next[i].value, value) < 0) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+        int newLevel = randomLevel();
+        if (newLevel > level) {
+            for (int i = level; i < newLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = size;
+            }
+            level = newLevel;
+        }
+        Node<E> node = new Node<>(value, newLevel);
+        for (int i = 0; i < newLevel; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = rank[0] - rank[i] + 1;
+        }
+        for (int i = newLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        size++;
+    }
+
+    public boolean remove(E value) {
+        @SuppressWarnings("unchecked")
+        Node<E>[] update = (Node<E>[]) new Node[MAX_LEVEL];
+        Node<E> x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && comparator.compare(x.next[i].value, value) < 0) {
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+        Node<E> target = x.next[0];
+        if (target == null || comparator.compare(target.value, value) != 0) {
+            return false;
+        }
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == target) {
+                update[i].span[i] += target.span[i] - 1;
+                update[i].next[i] = target.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        size--;
+        return true;
+    }
+
+    // 1-based rank of the element, or 0 when it is not present
+    public int rank(E value) {
+        int rank = 0;
+        Node<E> x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && comparator.compare(x.next[i].value, value) <= 0) {
+                rank += x.span[i];
+                x = x.next[i];
+            }
+            if (x != head && comparator.compare(x.value, value) == 0) {
+                return rank;
+            }
+        }
+        return 0;
+    }
+
+    // Up to limit elements starting at the given 0-based offset, in order
+    public List<E> range(int offset, int limit) {
+        List<E> result = new ArrayList<>(Math.max(0, Math.min(limit, size - offset)));
+        if (offset < 0 || offset >= size || limit <= 0) {
+            return result;
+        }
+        int target = offset + 1;
+        int traversed = 0;
+        Node<E> x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && traversed + x.span[i] <= target) {
+                traversed += x.span[i];
+                x = x.next[i];
+            }
+            if (traversed == target) {
+                break;
+            }
+        }
+        while (x != null && result.size() < limit) {
+            result.add(x.value);
+            x = x.next[0];
+        }
+        return result;
+    }
+
+    private static int randomLevel() {
+        int lvl = 1;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (lvl < MAX_LEVEL && random.nextInt(4) == 0) {
+            lvl++;
+        }
+        return lvl;
+    }
+
+    private static final class Node<E> {
+        final E value;
+        final Node<E>[] next;
+        final int[] span;
+
+        @SuppressWarnings("unchecked")
+        Node(E value, int level) {
+            this.value = value;
+            this.next = (Node<E>[]) new Node[level];
+            this.span = new int[level];
+        }
+    }
+}
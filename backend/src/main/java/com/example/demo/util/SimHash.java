@@ -0,0 +1,83 @@
+package com.example.demo.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// 64-bit SimHash over the words of a text. Texts that differ in a few words get
+// fingerprints that differ in a few bits, so near-duplicates are found by Hamming
+// distance. Normalization drops case, punctuation, URLs and digits, which spam variants
+// usually change.
+public final class SimHash {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private SimHash() {
+    }
+
+    // Lower-case words of the text with URLs and numbers removed
+    public static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("\\s+")) {
+            if (token.startsWith("http://") || token.startsWith("https://") || token.startsWith("www.")) {
+                continue;
+            }
+            StringBuilder word = new StringBuilder(token.length());
+            for (int i = 0; i < token.length(); i++) {
+                char c = token.charAt(i);
+                if (Character.isLetter(c)) {
+                    word.append(c);
+                }
+            }
+            if (!word.isEmpty()) {
+                words.add(word.toString());
+            }
+        }
+        return words;
+    }
+
+    public static long fingerprint(List<String> words) {
+        int[] weights = new int[64];
+        // Single words rather than shingles: on post-sized texts a changed word then moves
+        // only its own feature, keeping edited copies within a few bits
+        for (String word : words) {
+            long hash = mix(fnv(FNV_OFFSET, word));
+            for (int bit = 0; bit < 64; bit++) {
+                weights[bit] += ((hash >>> bit) & 1L) != 0 ? 1 : -1;
+            }
+        }
+        long fingerprint = 0;
+        for (int bit = 0; bit < 64; bit++) {
+            if (weights[bit] > 0) {
+                fingerprint |= 1L << bit;
+            }
+        }
+        return fingerprint;
+    }
+
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    private static long fnv(long hash, String word) {
+        for (byte b : word.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    // FNV alone leaves the high bits of similar words correlated
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.demo.util;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+// Single pass over post text collecting #hashtags and @mentions. A marker only starts a
+// token at the beginning of the text or after a character that cannot be part of a word,
+// so "C#", "a@b.com" and "page#anchor" are not picked up. Hashtags are lower-cased;
+// mentions keep their case and are matched against usernames.
+public final class TextTokenizer {
+
+    public static final int MAX_HASHTAGS = 30;
+    public static final int MAX_MENTIONS = 20;
+    public static final int MAX_TOKEN_LENGTH = 64;
+
+    private TextTokenizer() {
+    }
+
+    public record Tokens(Set<String> hashtags, Set<String> mentions) {
+    }
+
+    public static Tokens tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return new Tokens(Set.of(), Set.of());
+        }
+        Set<String> hashtags = new LinkedHashSet<>();
+        Set<String> mentions = new LinkedHashSet<>();
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            boolean hashtag = c == '#';
+            if ((!hashtag && c != '@') || (i > 0 && isWordChar(text.charAt(i - 1)))) {
+                i++;
+                continue;
+            }
+            int start = i + 1;
+            int end = start;
+            boolean hasLetter = false;
+            while (end < length) {
+                char t = text.charAt(end);
+                if (Character.isLetter(t)) {
+                    hasLetter = true;
+                } else if (!(Character.isDigit(t) || t == '_' || (!hashtag && t == '.'))) {
+                    break;
+                }
+                end++;
+            }
+            // A mention may end a sentence: "thanks @sam."
+            int tokenEnd = end;
+            while (!hashtag && tokenEnd > start && text.charAt(tokenEnd - 1) == '.') {
+                tokenEnd--;
+            }
+            int tokenLength = tokenEnd - start;
+            if (hasLetter && tokenLength > 0 && tokenLength <= MAX_TOKEN_LENGTH) {
+                if (hashtag) {
+                    if (hashtags.size() < MAX_HASHTAGS) {
+                        hashtags.add(text.substring(start, tokenEnd).toLowerCase(Locale.ROOT));
+                    }
+                } else if (mentions.size() < MAX_MENTIONS) {
+                    mentions.add(text.substring(start, tokenEnd));
+                }
+            }
+            i = Math.max(end, start);
+        }
+        return new Tokens(Collections.unmodifiableSet(hashtags), Collections.unmodifiableSet(mentions));
+    }
+
+    // Path or query form of a tag ("#Java", "java") in the stored form
+    public static String normalizeTag(String tag) {
+        if (tag == null) {
+            return null;
+        }
+        String trimmed = tag.trim();
+        if (trimmed.startsWith("#")) {
+            trimmed = trimmed.substring(1);
+        }
+        return trimmed.toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '#' || c == '@' || c == '.' || c == '/';
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.demo.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+// Single owner of file.upload-dir. The path is resolved once at construction and the
+// directory is only created on the first write, so startup never touches the disk.
+@Component
+public class UploadDirectory {
+
+    private static final Logger logger = LoggerFactory.getLogger(UploadDirectory.class);
+
+    private final Path root;
+    private volatile boolean ready;
+
+    public UploadDirectory(@Value("${file.upload-dir}") String uploadDir) {
+        this.root = Paths.get(uploadDir).toAbsolutePath().normalize();
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    // Resolves a stored filename, or returns null when it would escape the upload directory
+    public Path resolve(String filename) {
+        Path filePath = root.resolve(filename).normalize();
+        return filePath.startsWith(root) ? filePath : null;
+    }
+
+    // Create the directory if needed and check it is writable
+    public Path ensureExists() throws IOException {
+        if (ready) {
+            return root;
+        }
+        synchronized (this) {
+            if (!ready) {
+                if (!Files.exists(root)) {
+                    logger.info("Upload directory {} does not exist, creating it", root);
+                    Files.createDirectories(root);
+                }
+                if (!Files.isWritable(root)) {
+                    logger.error("Upload directory {} is not writable", root);
+                    throw new IOException("Upload directory is not writable: " + root);
+                }
+                logger.info("Upload directory {} is ready", root);
+                ready = true;
+            }
+        }
+        return root;
+    }
+}
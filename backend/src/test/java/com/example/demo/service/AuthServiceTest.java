@@ -0,0 +1,148 @@
+package com.example.demo.service;
+
+import com.example.demo.config.ReadYourWritesInterceptor;
+import com.example.demo.model.RefreshToken;
+import com.example.demo.model.User;
+import com.example.demo.repository.RefreshTokenRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.security.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthServiceTest {
+
+    private final List<RefreshToken> stored = new ArrayList<>();
+    private RefreshTokenRepository refreshTokenRepository;
+    private AuthService authService;
+
+    // The repository mock behaves like the refresh_tokens table, including the
+    // conditional update in markUsed, so rotation runs through the real code paths
+    @BeforeEach
+    void setUp() {
+        UserRepository userRepository = mock(UserRepository.class);
+        JwtUtil jwtUtil = mock(JwtUtil.class);
+        refreshTokenRepository = mock(RefreshTokenRepository.class);
+
+        User user = new User();
+        user.setUsername("alice");
+        user.setEmail("alice@example.com");
+        user.setRole(User.Role.USER);
+        when(userRepository.findByEmail("alice@example.com")).thenReturn(Optional.of(user));
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user));
+        when(jwtUtil.generateToken(anyString(), anyMap())).thenReturn("access-token");
+
+        when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(invocation -> {
+            RefreshToken token = invocation.getArgument(0);
+            token.setId((long) stored.size() + 1);
+            stored.add(token);
+            return token;
+        });
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenAnswer(invocation -> stored.stream()
+                .filter(token -> token.getTokenHash().equals(invocation.getArgument(0)))
+                .findFirst());
+        when(refreshTokenRepository.markUsed(anyLong())).thenAnswer(invocation -> {
+            RefreshToken token = stored.get(invocation.<Long>getArgument(0).intValue() - 1);
+            if (token.isUsed() || token.isRevoked()) {
+                return 0;
+            }
+            token.setUsed(true);
+            return 1;
+        });
+        when(refreshTokenRepository.revokeFamily(anyString())).thenAnswer(invocation -> {
+            List<RefreshToken> family = stored.stream()
+                    .filter(token -> token.getFamilyId().equals(invocation.getArgument(0)))
+                    .toList();
+            family.forEach(token -> token.setRevoked(true));
+            return family.size();
+        });
+
+        authService = new AuthService(userRepository, mock(PasswordEncoder.class), mock(AuthenticationManager.class),
+                jwtUtil, refreshTokenRepository, mock(TokenRevocationService.class),
+                mock(AccountAvailabilityService.class), mock(ReadYourWritesInterceptor.class));
+        ReflectionTestUtils.setField(authService, "refreshTokenDays", 14L);
+    }
+
+    @Test
+    void refreshRotatesTheToken() {
+        String first = login();
+
+        Map<String, String> rotated = authService.refresh(first);
+
+        assertEquals("access-token", rotated.get("token"));
+        assertNotEquals(first, rotated.get("refreshToken"));
+        assertEquals(2, stored.size());
+        assertEquals(stored.get(0).getFamilyId(), stored.get(1).getFamilyId());
+        assertTrue(stored.get(0).isUsed());
+        // Only digests are stored
+        assertTrue(stored.stream().noneMatch(token -> token.getTokenHash().equals(first)));
+    }
+
+    @Test
+    void reusedTokenIsRejectedAndRevokesTheFamily() {
+        String first = login();
+        String second = authService.refresh(first).get("refreshToken");
+
+        InvalidTokenException reuse = assertThrows(InvalidTokenException.class, () -> authService.refresh(first));
+        assertEquals("Refresh token already used", reuse.getMessage());
+        verify(refreshTokenRepository).revokeFamily(stored.get(0).getFamilyId());
+
+        // Whoever holds the newer token is logged out too
+        assertThrows(InvalidTokenException.class, () -> authService.refresh(second));
+        assertEquals(2, stored.size());
+    }
+
+    @Test
+    void reuseDoesNotTouchOtherSessions() {
+        String phone = login();
+        String laptop = login();
+        authService.refresh(phone);
+
+        assertThrows(InvalidTokenException.class, () -> authService.refresh(phone));
+
+        Map<String, String> rotated = authService.refresh(laptop);
+        assertTrue(rotated.containsKey("refreshToken"));
+    }
+
+    @Test
+    void unknownExpiredOrMissingTokensAreRejected() {
+        assertThrows(InvalidTokenException.class, () -> authService.refresh(null));
+        assertThrows(InvalidTokenException.class, () -> authService.refresh(" "));
+        assertThrows(InvalidTokenException.class, () -> authService.refresh("not-a-token"));
+
+        String expired = login();
+        stored.get(0).setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        assertThrows(InvalidTokenException.class, () -> authService.refresh(expired));
+        verify(refreshTokenRepository, never()).markUsed(anyLong());
+        verify(refreshTokenRepository, times(1)).save(any(RefreshToken.class));
+    }
+
+    private String login() {
+        User credentials = new User();
+        credentials.setEmail("alice@example.com");
+        credentials.setPassword("secret");
+        return authService.login(credentials).get("refreshToken");
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.demo.service;
+
+import com.example.demo.util.SimHash;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DuplicateContentDetectorTest {
+
+    private static final String POST = "Spent the weekend learning how react hooks replace class components "
+            + "and wrote a small todo app with useState and useEffect to practice the basics";
+
+    @Test
+    void flagsEditedCopies() {
+        DuplicateContentDetector detector = detector(DuplicateContentDetector.Action.FLAG, 100);
+
+        assertFalse(detector.screen(POST, "post"));
+        assertTrue(detector.screen(POST.replace("weekend", "evening"), "post"));
+        assertTrue(detector.screen(POST.toUpperCase() + " https://spam.example", "comment"));
+        assertFalse(detector.screen("Looking for a study partner for the database systems exam next month, "
+                + "mostly normalization, indexing and query plans", "post"));
+    }
+
+    @Test
+    void rejectPolicyThrowsAndKeepsOnlyTheOriginal() {
+        DuplicateContentDetector detector = detector(DuplicateContentDetector.Action.REJECT, 100);
+
+        assertFalse(detector.screen(POST, "post"));
+        assertThrows(DuplicateContentException.class, () -> detector.screen(POST, "post"));
+        assertThrows(DuplicateContentException.class, () -> detector.screen(POST + " again", "post"));
+    }
+
+    @Test
+    void shortTextsAndOffPolicyAreNotScreened() {
+        DuplicateContentDetector detector = detector(DuplicateContentDetector.Action.FLAG, 100);
+        assertFalse(detector.screen("thanks a lot!", "comment"));
+        assertFalse(detector.screen("thanks a lot!", "comment"));
+
+        DuplicateContentDetector off = detector(DuplicateContentDetector.Action.OFF, 100);
+        assertFalse(off.screen(POST, "post"));
+        assertFalse(off.screen(POST, "post"));
+    }
+
+    @Test
+    void oldestEntriesLeaveAtMaxEntries() {
+        DuplicateContentDetector detector = detector(DuplicateContentDetector.Action.FLAG, 2);
+        List<String> texts = randomTexts(new Random(7), 3);
+        for (String text : texts) {
+            assertFalse(detector.screen(text, "post"));
+        }
+
+        // The third text pushed out the first; the latest two are still compared
+        assertTrue(detector.screen(texts.get(2), "post"));
+        assertFalse(detector.screen(texts.get(0), "post"));
+    }
+
+    @Test
+    void rejectsNonPositiveMaxEntries() {
+        assertThrows(IllegalArgumentException.class, () -> detector(DuplicateContentDetector.Action.FLAG, 0));
+    }
+
+    // The block tables must find every fingerprint within max-distance that a full scan
+    // finds, and nothing further away
+    @Test
+    void blockLookupMatchesFullScan() {
+        DuplicateContentDetector detector = detector(DuplicateContentDetector.Action.FLAG, 100_000);
+        Random random = new Random(11);
+        List<String> originals = randomTexts(random, 300);
+        List<Long> seen = new ArrayList<>();
+        int near = 0;
+        for (int i = 0; i < 1500; i++) {
+            String text = i < originals.size() ? originals.get(i) : edit(random, originals.get(random.nextInt(originals.size())));
+            long fingerprint = SimHash.fingerprint(SimHash.words(text));
+            int nearest = Integer.MAX_VALUE;
+            for (long other : seen) {
+                nearest = Math.min(nearest, SimHash.distance(fingerprint, other));
+            }
+            boolean expected = nearest <= 7;
+            near += expected ? 1 : 0;
+            assertEquals(expected, detector.screen(text, "post"), "text " + i + " at distance " + nearest);
+            seen.add(fingerprint);
+        }
+        // Make sure both outcomes were exercised
+        assertTrue(near > 100 && near < 1400, "near-duplicates: " + near);
+    }
+
+    private static DuplicateContentDetector detector(DuplicateContentDetector.Action action, int maxEntries) {
+        return new DuplicateContentDetector(new SimpleMeterRegistry(), action, 7, 6, 60, maxEntries);
+    }
+
+    private static List<String> randomTexts(Random random, int count) {
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            StringBuilder text = new StringBuilder();
+            for (int w = 0; w < 20; w++) {
+                text.append(word(random)).append(' ');
+            }
+            texts.add(text.toString().trim());
+        }
+        return texts;
+    }
+
+    // Replaces a few words, as a spammer varying a copied post would
+    private static String edit(Random random, String text) {
+        String[] words = text.split(" ");
+        int edits = random.nextInt(6);
+        for (int i = 0; i < edits; i++) {
+            words[random.nextInt(words.length)] = word(random);
+        }
+        return String.join(" ", words);
+    }
+
+    private static String word(Random random) {
+        char[] letters = new char[3 + random.nextInt(6)];
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(letters);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    @Test
+    void neverMissesAnAddedKey() {
+        BloomFilter filter = new BloomFilter(100_000, 0.001);
+        for (int i = 0; i < 100_000; i++) {
+            filter.add("jti:" + i);
+        }
+        for (int i = 0; i < 100_000; i++) {
+            assertTrue(filter.mightContain("jti:" + i), "missed jti:" + i);
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTheTarget() {
+        BloomFilter filter = new BloomFilter(100_000, 0.001);
+        for (int i = 0; i < 100_000; i++) {
+            filter.add("jti:" + i);
+        }
+        int falsePositives = 0;
+        int probes = 200_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("user:" + i)) {
+                falsePositives++;
+            }
+        }
+        double rate = (double) falsePositives / probes;
+        assertTrue(rate < 0.002, "false positive rate " + rate);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        assertFalse(filter.mightContain("jti:1"));
+        assertFalse(filter.mightContain(""));
+    }
+
+    @Test
+    void concurrentAddsAreNotLost() throws InterruptedException {
+        BloomFilter filter = new BloomFilter(80_000, 0.001);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int offset = t * 10_000;
+            Thread thread = new Thread(() -> {
+                for (int i = offset; i < offset + 10_000; i++) {
+                    filter.add("jti:" + i);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (int i = 0; i < 80_000; i++) {
+            assertTrue(filter.mightContain("jti:" + i), "missed jti:" + i);
+        }
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(1000, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(1000, 1));
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CoOccurrenceRecommenderTest {
+
+    @Test
+    void sharedNicheItemsOutweighPopularOnes() throws InterruptedException {
+        IntAdjacency.Builder builder = new IntAdjacency.Builder();
+        // Item 0: niche skill of users 0 and 1; item 1: category everyone follows;
+        // item 2: heavier kind, shared by users 0 and 2
+        builder.add(0, 0);
+        builder.add(1, 0);
+        for (int user = 0; user < 4; user++) {
+            builder.add(user, 1);
+        }
+        builder.add(0, 2);
+        builder.add(2, 2);
+        float[] kindWeights = {1f, 1f, 2f};
+
+        CoOccurrenceRecommender.Result result = new CoOccurrenceRecommender(builder.build(4), kindWeights, 2, 100)
+                .run(ForkJoinPool.commonPool());
+
+        assertArrayEquals(new int[]{2, 1}, slots(result.users(), 0, 2));
+        assertEquals(1 / Math.log(6) + 2 / Math.log(4), result.scores()[0], 1e-5);
+        assertEquals(1 / Math.log(4) + 1 / Math.log(6), result.scores()[1], 1e-5);
+        // User 3 only shares the category, so every other user ties
+        assertEquals(result.scores()[3 * 2], result.scores()[3 * 2 + 1], 1e-6);
+    }
+
+    // Scores from the heap must equal a direct pairwise count, best first
+    @Test
+    void topKMatchesBruteForce() throws InterruptedException {
+        int users = 300;
+        int items = 80;
+        int topK = 5;
+        Random random = new Random(3);
+        IntAdjacency.Builder builder = new IntAdjacency.Builder();
+        for (int user = 0; user < users; user++) {
+            for (int i = 0; i < 1 + random.nextInt(8); i++) {
+                builder.add(user, random.nextInt(items));
+            }
+        }
+        IntAdjacency userItems = builder.build(users);
+        float[] kindWeights = new float[items];
+        for (int item = 0; item < items; item++) {
+            kindWeights[item] = 1 + random.nextInt(3);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        CoOccurrenceRecommender.Result result;
+        try {
+            result = new CoOccurrenceRecommender(userItems, kindWeights, topK, Integer.MAX_VALUE).run(pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        IntAdjacency itemUsers = userItems.transpose(items);
+        for (int user = 0; user < users; user++) {
+            Map<Integer, Double> expected = new HashMap<>();
+            for (int p = userItems.start(user); p < userItems.end(user); p++) {
+                int item = userItems.targets()[p];
+                double weight = kindWeights[item] / Math.log(2 + itemUsers.degree(item));
+                for (int q = itemUsers.start(item); q < itemUsers.end(item); q++) {
+                    int other = itemUsers.targets()[q];
+                    if (other != user) {
+                        expected.merge(other, weight, Double::sum);
+                    }
+                }
+            }
+            double[] best = expected.values().stream().mapToDouble(Double::doubleValue)
+                    .map(score -> -score).sorted().map(score -> -score).limit(topK).toArray();
+            for (int slot = 0; slot < topK; slot++) {
+                int other = result.users()[user * topK + slot];
+                if (slot >= best.length) {
+                    assertEquals(-1, other);
+                    continue;
+                }
+                float score = result.scores()[user * topK + slot];
+                assertEquals(best[slot], score, 1e-4, "user " + user + " slot " + slot);
+                assertEquals(expected.get(other), score, 1e-4, "score of user " + other);
+            }
+        }
+    }
+
+    // Members of a large item are only linked to the ones around them in id order
+    @Test
+    void largeItemsLinkOnlyNearbyUsers() throws InterruptedException {
+        IntAdjacency.Builder builder = new IntAdjacency.Builder();
+        for (int user = 0; user < 10; user++) {
+            builder.add(user, 0);
+        }
+
+        CoOccurrenceRecommender.Result result = new CoOccurrenceRecommender(builder.build(10), new float[]{1f}, 5, 4)
+                .run(ForkJoinPool.commonPool());
+
+        int[] neighbours = slots(result.users(), 5 * 5, 5);
+        assertEquals(-1, neighbours[3]);
+        assertEquals(-1, neighbours[4]);
+        int[] linked = Arrays.copyOf(neighbours, 3);
+        Arrays.sort(linked);
+        assertArrayEquals(new int[]{3, 4, 6}, linked);
+        assertTrue(Arrays.stream(slots(result.users(), 0, 5)).filter(other -> other >= 0).allMatch(other -> other <= 3));
+    }
+
+    private static int[] slots(int[] users, int from, int count) {
+        return Arrays.copyOfRange(users, from, from + count);
+    }
+}
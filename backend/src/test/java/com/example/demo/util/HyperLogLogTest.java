@@ -0,0 +1,101 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogTest {
+
+    // About 3x the 1.6% standard error of 4096 registers
+    private static final double MAX_ERROR = 0.05;
+
+    @Test
+    void emptySketchEstimatesZero() {
+        assertEquals(0, new HyperLogLog().estimate());
+    }
+
+    @Test
+    void smallCountsAreNearlyExact() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 100; i++) {
+            sketch.offer("user:" + i);
+        }
+        assertEquals(100, sketch.estimate(), 2);
+    }
+
+    @Test
+    void repeatedViewersCountOnce() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 1000; i++) {
+                sketch.offer("addr:10.0." + (i / 256) + "." + (i % 256));
+            }
+        }
+        assertFalse(sketch.offer("addr:10.0.0.1"));
+        assertEquals(1000, sketch.estimate(), 1000 * MAX_ERROR);
+    }
+
+    // Both sides of the switch from linear counting (below 2.5 * 4096) to the raw estimate
+    @Test
+    void estimateStaysWithinErrorBoundAcrossRanges() {
+        HyperLogLog sketch = new HyperLogLog();
+        int offered = 0;
+        for (int cardinality : new int[]{5_000, 10_000, 11_000, 20_000, 100_000}) {
+            while (offered < cardinality) {
+                sketch.offer("user:" + offered++);
+            }
+            long estimate = sketch.estimate();
+            assertEquals(cardinality, estimate, cardinality * MAX_ERROR, "estimate at " + cardinality);
+        }
+    }
+
+    @Test
+    void mergeEstimatesTheUnion() {
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        for (int i = 0; i < 60_000; i++) {
+            first.offer("user:" + i);
+        }
+        for (int i = 40_000; i < 100_000; i++) {
+            second.offer("user:" + i);
+        }
+
+        first.merge(second);
+        assertEquals(100_000, first.estimate(), 100_000 * MAX_ERROR);
+
+        // Merging the same sketch again (a retried flush) changes nothing
+        byte[] before = first.toBytes();
+        first.merge(second);
+        assertArrayEquals(before, first.toBytes());
+    }
+
+    @Test
+    void bytesRoundTrip() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 5000; i++) {
+            sketch.offer("user:" + i);
+        }
+
+        HyperLogLog restored = HyperLogLog.fromBytes(sketch.toBytes());
+        assertEquals(sketch.estimate(), restored.estimate());
+        assertArrayEquals(sketch.toBytes(), restored.toBytes());
+
+        // The copy is independent of the original
+        HyperLogLog copy = sketch.copy();
+        for (int i = 5000; i < 10_000; i++) {
+            copy.offer("user:" + i);
+        }
+        assertTrue(copy.estimate() > sketch.estimate());
+        assertArrayEquals(sketch.toBytes(), restored.toBytes());
+    }
+
+    @Test
+    void rejectsWrongRegisterCount() {
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[16]));
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(null));
+    }
+}
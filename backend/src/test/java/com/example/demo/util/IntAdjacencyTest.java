@@ -0,0 +1,60 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IntAdjacencyTest {
+
+    @Test
+    void buildSortsRowsAndDropsRepeatedEdges() {
+        IntAdjacency.Builder builder = new IntAdjacency.Builder();
+        builder.add(2, 5);
+        builder.add(0, 3);
+        builder.add(2, 1);
+        builder.add(0, 1);
+        builder.add(2, 5);
+        IntAdjacency adjacency = builder.build(4);
+
+        assertEquals(4, adjacency.rows());
+        assertArrayEquals(new int[]{1, 3}, row(adjacency, 0));
+        assertArrayEquals(new int[0], row(adjacency, 1));
+        assertArrayEquals(new int[]{1, 5}, row(adjacency, 2));
+        assertEquals(0, adjacency.degree(3));
+    }
+
+    @Test
+    void transposeSwapsRowsAndTargets() {
+        IntAdjacency.Builder builder = new IntAdjacency.Builder();
+        builder.add(0, 2);
+        builder.add(1, 0);
+        builder.add(1, 2);
+        builder.add(3, 2);
+        IntAdjacency transposed = builder.build(4).transpose(3);
+
+        assertEquals(3, transposed.rows());
+        assertArrayEquals(new int[]{1}, row(transposed, 0));
+        assertArrayEquals(new int[0], row(transposed, 1));
+        assertArrayEquals(new int[]{0, 1, 3}, row(transposed, 2));
+    }
+
+    @Test
+    void builderGrowsPastItsInitialCapacity() {
+        IntAdjacency.Builder builder = new IntAdjacency.Builder();
+        for (int i = 0; i < 5000; i++) {
+            builder.add(i % 10, i);
+        }
+        IntAdjacency adjacency = builder.build(10);
+
+        assertEquals(5000, builder.size());
+        assertEquals(500, adjacency.degree(7));
+        assertEquals(7, row(adjacency, 7)[0]);
+    }
+
+    private static int[] row(IntAdjacency adjacency, int row) {
+        return Arrays.copyOfRange(adjacency.targets(), adjacency.start(row), adjacency.end(row));
+    }
+}
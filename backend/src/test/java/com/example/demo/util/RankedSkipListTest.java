@@ -0,0 +1,80 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RankedSkipListTest {
+
+    // Highest score first, as on the leaderboards
+    private static final Comparator<Integer> DESCENDING = Comparator.reverseOrder();
+
+    @Test
+    void ranksFollowTheComparator() {
+        RankedSkipList<Integer> list = new RankedSkipList<>(DESCENDING);
+        for (int score : new int[]{40, 10, 50, 30, 20}) {
+            list.insert(score);
+        }
+
+        assertEquals(5, list.size());
+        assertEquals(1, list.rank(50));
+        assertEquals(2, list.rank(40));
+        assertEquals(5, list.rank(10));
+        assertEquals(0, list.rank(35));
+        assertEquals(List.of(40, 30, 20), list.range(1, 3));
+        assertEquals(List.of(20, 10), list.range(3, 10));
+        assertTrue(list.range(5, 10).isEmpty());
+    }
+
+    @Test
+    void removeShiftsLaterRanks() {
+        RankedSkipList<Integer> list = new RankedSkipList<>(DESCENDING);
+        for (int score = 1; score <= 10; score++) {
+            list.insert(score);
+        }
+
+        assertTrue(list.remove(7));
+        assertFalse(list.remove(7));
+        assertEquals(9, list.size());
+        assertEquals(3, list.rank(8));
+        assertEquals(4, list.rank(6));
+        assertEquals(0, list.rank(7));
+        assertEquals(List.of(8, 6, 5), list.range(2, 3));
+    }
+
+    // Random inserts and removes against a sorted list; every rank and offset must agree,
+    // which only holds while the spans on all levels are kept right
+    @Test
+    void spansStayConsistentUnderChurn() {
+        RankedSkipList<Integer> list = new RankedSkipList<>(DESCENDING);
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(42);
+        for (int step = 0; step < 5000; step++) {
+            int value = random.nextInt(2000);
+            int index = expected.indexOf(value);
+            if (index >= 0) {
+                assertTrue(list.remove(value));
+                expected.remove(index);
+            } else {
+                list.insert(value);
+                expected.add(value);
+            }
+        }
+        expected.sort(DESCENDING);
+
+        assertEquals(expected.size(), list.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(i + 1, list.rank(expected.get(i)));
+        }
+        for (int offset = 0; offset < expected.size(); offset += 97) {
+            assertEquals(expected.subList(offset, Math.min(expected.size(), offset + 25)), list.range(offset, 25));
+        }
+    }
+}
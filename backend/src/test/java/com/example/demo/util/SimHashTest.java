@@ -0,0 +1,53 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SimHashTest {
+
+    private static final String POST = "Spent the weekend learning how react hooks replace class components "
+            + "and wrote a small todo app with useState and useEffect to practice the basics";
+
+    @Test
+    void wordsDropCaseUrlsDigitsAndPunctuation() {
+        assertEquals(List.of("check", "my", "course", "now"),
+                SimHash.words("Check my COURSE: https://spam.example/x?id=1 now!!! 2024"));
+        assertTrue(SimHash.words(null).isEmpty());
+        assertTrue(SimHash.words("   ").isEmpty());
+    }
+
+    @Test
+    void normalizedVariantsShareAFingerprint() {
+        String variant = POST.toUpperCase() + " www.example.com 100%";
+        assertEquals(fingerprint(POST), fingerprint(variant));
+    }
+
+    @Test
+    void smallEditsStayClose() {
+        long original = fingerprint(POST);
+        assertTrue(SimHash.distance(original, fingerprint(POST.replace("weekend", "evening"))) <= 7);
+        assertTrue(SimHash.distance(original, fingerprint(POST + " today")) <= 7);
+    }
+
+    @Test
+    void unrelatedTextsAreFarApart() {
+        long other = fingerprint("Looking for a study partner for the database systems exam next month, "
+                + "mostly normalization, indexing and query plans, message me if interested");
+        assertTrue(SimHash.distance(fingerprint(POST), other) > 7);
+    }
+
+    @Test
+    void distanceCountsDifferingBits() {
+        assertEquals(0, SimHash.distance(0x5aL, 0x5aL));
+        assertEquals(3, SimHash.distance(0b1011L, 0b0110L));
+        assertEquals(64, SimHash.distance(0L, -1L));
+    }
+
+    private static long fingerprint(String text) {
+        return SimHash.fingerprint(SimHash.words(text));
+    }
+}
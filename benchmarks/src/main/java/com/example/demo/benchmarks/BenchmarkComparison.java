@@ -0,0 +1,82 @@
+package com.example.demo.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Compares two JMH JSON result files (-rf json) and exits non-zero when any benchmark
+// got slower than the allowed threshold, so a CI step can fail on regressions.
+//
+// Usage: BenchmarkComparison <baseline.json> <current.json> [thresholdPercent]
+public final class BenchmarkComparison {
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <current.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, JsonNode> baseline = index(mapper.readTree(new File(args[0])));
+        Map<String, JsonNode> current = index(mapper.readTree(new File(args[1])));
+
+        int regressions = 0;
+        System.out.printf("%-80s %14s %14s %9s%n", "benchmark", "baseline", "current", "change");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue();
+            double afterScore = after.path("primaryMetric").path("score").asDouble();
+            String unit = after.path("primaryMetric").path("scoreUnit").asText();
+            if (before == null) {
+                System.out.printf("%-80s %14s %14.3f %9s  %s (new)%n", entry.getKey(), "-", afterScore, "-", unit);
+                continue;
+            }
+            double beforeScore = before.path("primaryMetric").path("score").asDouble();
+            // Throughput modes are better when higher, time modes when lower
+            boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+            double change = beforeScore == 0 ? 0 : (afterScore - beforeScore) / beforeScore * 100.0;
+            double slowdown = higherIsBetter ? -change : change;
+            boolean regressed = slowdown > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-80s %14.3f %14.3f %+8.1f%%  %s%s%n", entry.getKey(), beforeScore, afterScore, change, unit,
+                    regressed ? "  REGRESSION" : "");
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+        System.out.println("No regressions above " + threshold + "%");
+    }
+
+    // Keys results by benchmark name plus its @Param values
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> indexed = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            JsonNode params = result.path("params");
+            if (params.isObject()) {
+                Map<String, String> sorted = new TreeMap<>();
+                Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    sorted.put(field.getKey(), field.getValue().asText());
+                }
+                key.append(sorted);
+            }
+            indexed.put(key.toString(), result);
+        }
+        return indexed;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.demo.benchmarks;
+
+import com.example.demo.model.Post;
+import com.example.demo.model.PostInteraction;
+import com.example.demo.model.UploadSession;
+import com.example.demo.model.User;
+import com.example.demo.repository.PostInteractionRepository;
+import com.example.demo.repository.PostRepository;
+import com.example.demo.repository.UploadSessionRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.DuplicateContentDetector;
+import com.example.demo.service.MediaCache;
+import com.example.demo.service.PostService;
+import com.example.demo.service.TagService;
+import com.example.demo.service.UploadService;
+import com.example.demo.service.UserBatchLoader;
+import com.example.demo.util.MediaValidator;
+import com.example.demo.util.UploadDirectory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Shared object graphs for the benchmarks. Wiring lives here so a constructor change
+// in a service only needs to be followed in one place.
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static PostRepository postRepository() {
+        return InMemoryRepositories.create(PostRepository.class, Post::getId, Post::setId);
+    }
+
+    // Atomic post updates go through MongoTemplate, so they run on the in-process stand-in
+    static MongoTemplate mongoTemplate() {
+        return new InMemoryMongoTemplate();
+    }
+
+    // Every collaborator is the real service, wired with in-memory stores and the defaults
+    // from application.properties
+    static PostService postService(PostRepository postRepository, MongoTemplate mongoTemplate, Path uploadDir) {
+        UploadDirectory uploadDirectory = new UploadDirectory(uploadDir.toString());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MediaValidator mediaValidator = new MediaValidator();
+        UserRepository userRepository = userRepository();
+        UserBatchLoader userBatchLoader = new UserBatchLoader(userRepository, 30, 10_000);
+        UploadService uploadService = new UploadService(
+                InMemoryRepositories.create(UploadSessionRepository.class, UploadSession::getId, UploadSession::setId),
+                mongoTemplate, mediaValidator, uploadDirectory, meterRegistry, 24);
+        TagService tagService = new TagService(mongoTemplate,
+                InMemoryRepositories.create(PostInteractionRepository.class, PostInteraction::getId, PostInteraction::setId),
+                userRepository, userBatchLoader);
+        DuplicateContentDetector duplicateContentDetector = new DuplicateContentDetector(meterRegistry,
+                DuplicateContentDetector.Action.FLAG, 7, 6, 60, 100_000);
+        return new PostService(postRepository, mediaValidator, meterRegistry, uploadDirectory, userBatchLoader,
+                uploadService, mongoTemplate,
+                new MediaCache(uploadDirectory, meterRegistry, 64L * 1024 * 1024, 1024 * 1024),
+                tagService, duplicateContentDetector);
+    }
+
+    // Users are always saved with explicit ids, so the in-memory store never assigns one
+    private static UserRepository userRepository() {
+        return InMemoryRepositories.create(UserRepository.class,
+                (User user) -> String.valueOf(user.getId()),
+                (user, id) -> {
+                    throw new UnsupportedOperationException("Benchmark users need an explicit id");
+                });
+    }
+
+    static Post post(int likes, int comments) {
+        Post post = new Post();
+        post.setId(UUID.randomUUID().toString());
+        post.setText("Sharing what I learned about concurrent data structures this week #java #performance");
+        post.setCreatorId("42");
+        post.setCreatorName("creator42");
+        post.setCreatedAt(LocalDateTime.now());
+        post.setUpdatedAt(LocalDateTime.now());
+        List<String> likeIds = new ArrayList<>(likes);
+        for (int i = 0; i < likes; i++) {
+            likeIds.add(String.valueOf(1000 + i));
+        }
+        post.setLikes(likeIds);
+        List<Post.Comment> commentList = new ArrayList<>(comments);
+        for (int i = 0; i < comments; i++) {
+            Post.Comment comment = new Post.Comment();
+            comment.setId(UUID.randomUUID().toString());
+            comment.setText("Great write-up, thanks for sharing! Comment number " + i);
+            comment.setCreatorId(String.valueOf(2000 + i));
+            comment.setCreatorName("commenter" + i);
+            comment.setCreatedAt(LocalDateTime.now());
+            commentList.add(comment);
+        }
+        post.setComments(commentList);
+        Post.Media media = new Post.Media();
+        media.setPath(UUID.randomUUID() + "_photo.jpg");
+        media.setType(Post.MediaType.IMAGE);
+        post.getMedia().add(media);
+        return post;
+    }
+}
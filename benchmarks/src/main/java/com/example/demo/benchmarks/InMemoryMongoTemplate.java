@@ -0,0 +1,185 @@
+package com.example.demo.benchmarks;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoExceptionTranslator;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// In-process stand-in for MongoTemplate so suites that use atomic updates run without a
+// server. Documents are stored in their mapped BSON form, one map per entity class, and
+// each write runs under one lock, like single-document atomicity on the server. Only what
+// the benchmarked code calls is implemented: insert, remove, exists and updateFirst with
+// equality / $ne filters and $set, $inc, $push and $pull updates. Anything else reaches
+// the database factory and fails loudly.
+final class InMemoryMongoTemplate extends MongoTemplate {
+
+    private final Map<Class<?>, Map<Object, Document>> collections = new HashMap<>();
+
+    InMemoryMongoTemplate() {
+        super(new NoDatabaseFactory());
+    }
+
+    @Override
+    public synchronized <T> T insert(T objectToSave) {
+        Document document = toDocument(objectToSave);
+        collection(objectToSave.getClass()).put(document.get("_id"), document);
+        return objectToSave;
+    }
+
+    @Override
+    public synchronized DeleteResult remove(Object object) {
+        Document removed = collection(object.getClass()).remove(toDocument(object).get("_id"));
+        return DeleteResult.acknowledged(removed != null ? 1 : 0);
+    }
+
+    @Override
+    public synchronized boolean exists(Query query, Class<?> entityClass) {
+        return findFirst(query, entityClass) != null;
+    }
+
+    @Override
+    public synchronized UpdateResult updateFirst(Query query, UpdateDefinition update, Class<?> entityClass) {
+        Document document = findFirst(query, entityClass);
+        if (document == null) {
+            return UpdateResult.acknowledged(0, 0L, null);
+        }
+        apply(document, update.getUpdateObject());
+        return UpdateResult.acknowledged(1, 1L, null);
+    }
+
+    private Map<Object, Document> collection(Class<?> entityClass) {
+        return collections.computeIfAbsent(entityClass, c -> new HashMap<>());
+    }
+
+    private Document toDocument(Object entity) {
+        Document document = new Document();
+        getConverter().write(entity, document);
+        return document;
+    }
+
+    private Document findFirst(Query query, Class<?> entityClass) {
+        Document filter = query.getQueryObject();
+        Object id = filter.containsKey("id") ? filter.get("id") : filter.get("_id");
+        if (id != null) {
+            Document document = collection(entityClass).get(id);
+            return document != null && matches(document, filter) ? document : null;
+        }
+        for (Document document : collection(entityClass).values()) {
+            if (matches(document, filter)) {
+                return document;
+            }
+        }
+        return null;
+    }
+
+    private static boolean matches(Document document, Document filter) {
+        for (Map.Entry<String, Object> condition : filter.entrySet()) {
+            String field = "id".equals(condition.getKey()) ? "_id" : condition.getKey();
+            Object actual = document.get(field);
+            if (condition.getValue() instanceof Document operators) {
+                for (Map.Entry<String, Object> operator : operators.entrySet()) {
+                    if (!"$ne".equals(operator.getKey())) {
+                        throw new UnsupportedOperationException("Filter operator " + operator.getKey());
+                    }
+                    if (equalsOrContains(actual, operator.getValue())) {
+                        return false;
+                    }
+                }
+            } else if (!equalsOrContains(actual, condition.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Equality on an array field matches any element, as in a Mongo filter
+    private static boolean equalsOrContains(Object actual, Object expected) {
+        if (actual instanceof List<?> values && !(expected instanceof List)) {
+            return values.contains(expected);
+        }
+        return Objects.equals(actual, expected);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void apply(Document document, Document update) {
+        for (Map.Entry<String, Object> operation : update.entrySet()) {
+            Document fields = (Document) operation.getValue();
+            for (Map.Entry<String, Object> field : fields.entrySet()) {
+                String name = field.getKey();
+                Object value = field.getValue();
+                switch (operation.getKey()) {
+                    case "$set" -> document.put(name, value);
+                    case "$inc" -> {
+                        Number current = (Number) document.get(name);
+                        document.put(name, (current == null ? 0L : current.longValue()) + ((Number) value).longValue());
+                    }
+                    case "$push" -> {
+                        List<Object> values = (List<Object>) document.get(name);
+                        List<Object> pushed = values == null ? new ArrayList<>() : values;
+                        pushed.add(value);
+                        document.put(name, pushed);
+                    }
+                    case "$pull" -> {
+                        List<Object> values = (List<Object>) document.get(name);
+                        if (values != null) {
+                            values.removeIf(element -> Objects.equals(element, value));
+                        }
+                    }
+                    default -> throw new UnsupportedOperationException("Update operator " + operation.getKey());
+                }
+            }
+        }
+    }
+
+    // Lets MongoTemplate build its mapping converter without a MongoClient
+    private static final class NoDatabaseFactory implements MongoDatabaseFactory {
+
+        private final PersistenceExceptionTranslator exceptionTranslator = new MongoExceptionTranslator();
+
+        @Override
+        public MongoDatabase getMongoDatabase() {
+            throw new UnsupportedOperationException("No MongoDB in benchmarks; extend InMemoryMongoTemplate instead");
+        }
+
+        @Override
+        public MongoDatabase getMongoDatabase(String dbName) {
+            return getMongoDatabase();
+        }
+
+        @Override
+        public PersistenceExceptionTranslator getExceptionTranslator() {
+            return exceptionTranslator;
+        }
+
+        @Override
+        public CodecRegistry getCodecRegistry() {
+            return MongoClientSettings.getDefaultCodecRegistry();
+        }
+
+        @Override
+        public ClientSession getSession(ClientSessionOptions options) {
+            throw new UnsupportedOperationException("No sessions in benchmarks");
+        }
+
+        @Override
+        public MongoDatabaseFactory withSession(ClientSession session) {
+            throw new UnsupportedOperationException("No sessions in benchmarks");
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.demo.benchmarks;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+// Map-backed stand-ins for Spring Data repositories so benchmarks measure our code
+// and not a database. Only the CRUD methods the services call are implemented; ids of
+// any type are stored under their string form.
+final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T, R> R create(Class<R> repositoryType, Function<T, String> idGetter, BiConsumer<T, String> idSetter) {
+        Map<String, T> store = new ConcurrentSkipListMap<>();
+        return (R) Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+                (proxy, method, args) -> invoke(store, idGetter, idSetter, repositoryType, method, args));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Object invoke(Map<String, T> store, Function<T, String> idGetter, BiConsumer<T, String> idSetter,
+                                     Class<?> repositoryType, Method method, Object[] args) {
+        String name = method.getName();
+        int arity = args == null ? 0 : args.length;
+        switch (name) {
+            case "save": {
+                T entity = (T) args[0];
+                if (idGetter.apply(entity) == null) {
+                    idSetter.accept(entity, UUID.randomUUID().toString());
+                }
+                store.put(idGetter.apply(entity), entity);
+                return entity;
+            }
+            case "saveAll": {
+                List<T> saved = new ArrayList<>();
+                for (T entity : (Iterable<T>) args[0]) {
+                    if (idGetter.apply(entity) == null) {
+                        idSetter.accept(entity, UUID.randomUUID().toString());
+                    }
+                    store.put(idGetter.apply(entity), entity);
+                    saved.add(entity);
+                }
+                return saved;
+            }
+            case "findById":
+                return Optional.ofNullable(store.get(String.valueOf(args[0])));
+            case "existsById":
+                return store.containsKey(String.valueOf(args[0]));
+            case "findAllById": {
+                List<T> found = new ArrayList<>();
+                for (Object id : (Iterable<?>) args[0]) {
+                    T entity = store.get(String.valueOf(id));
+                    if (entity != null) {
+                        found.add(entity);
+                    }
+                }
+                return found;
+            }
+            case "findAll":
+                if (arity == 1 && args[0] instanceof Pageable pageable) {
+                    return page(new ArrayList<>(store.values()), pageable);
+                }
+                if (arity == 0) {
+                    return new ArrayList<>(store.values());
+                }
+                break;
+            case "count":
+                return (long) store.size();
+            case "deleteById":
+                store.remove(String.valueOf(args[0]));
+                return null;
+            case "delete":
+                store.remove(idGetter.apply((T) args[0]));
+                return null;
+            case "toString":
+                return "InMemory" + repositoryType.getSimpleName();
+            case "hashCode":
+                return System.identityHashCode(store);
+            case "equals":
+                return false;
+            default:
+                break;
+        }
+        throw new UnsupportedOperationException(repositoryType.getSimpleName() + "." + name + " is not available in memory");
+    }
+
+    private static <T> Page<T> page(List<T> all, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), all.size());
+        int to = Math.min(from + pageable.getPageSize(), all.size());
+        return new PageImpl<>(all.subList(from, to), pageable, all.size());
+    }
+}
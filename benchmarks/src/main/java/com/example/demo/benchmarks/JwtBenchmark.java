@@ -0,0 +1,62 @@
+package com.example.demo.benchmarks;
+
+import com.example.demo.security.JwtUtil;
+import com.example.demo.util.BloomFilter;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Token work done on every login (generate) and every authenticated request (parse/validate,
+// then the deny-list check, which is one bloom filter probe per key for unrevoked tokens)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+    private String jti;
+    private BloomFilter denyList;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        token = jwtUtil.generateToken("benchmark-user", Map.of("role", "USER"));
+        jti = jwtUtil.parseClaims(token).getId();
+        denyList = new BloomFilter(100_000, 0.001);
+        for (int i = 0; i < 100_000; i++) {
+            denyList.add("jti:revoked-" + i);
+        }
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtil.generateToken("benchmark-user", Map.of("role", "USER"));
+    }
+
+    @Benchmark
+    public String parse() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return jwtUtil.validateToken(token, "benchmark-user");
+    }
+
+    // What JwtAuthenticationFilter does per request: one parse for every claim
+    @Benchmark
+    public Claims parseClaims() {
+        return jwtUtil.parseClaims(token);
+    }
+
+    @Benchmark
+    public boolean denyListCheck() {
+        return denyList.mightContain("jti:" + jti) || denyList.mightContain("user:benchmark-user");
+    }
+}
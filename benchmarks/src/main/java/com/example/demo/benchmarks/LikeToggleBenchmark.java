@@ -0,0 +1,53 @@
+package com.example.demo.benchmarks;
+
+import com.example.demo.model.Post;
+import com.example.demo.service.PostService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+// PostService.likePost, a pair of conditional updates, on the in-process MongoTemplate
+// stand-in: this measures the service path and the likes array scans, not the network or
+// the storage engine, which the loadtest module covers. Each invocation toggles, so like
+// and unlike alternate and the list size stays stable across iterations.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LikeToggleBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int likes;
+
+    private MongoTemplate mongoTemplate;
+    private PostService postService;
+    private Post post;
+
+    @Setup
+    public void setUp() throws Exception {
+        mongoTemplate = Fixtures.mongoTemplate();
+        postService = Fixtures.postService(Fixtures.postRepository(), mongoTemplate,
+                Files.createTempDirectory("skillhive-bench"));
+        post = mongoTemplate.insert(Fixtures.post(likes, 0));
+    }
+
+    @TearDown
+    public void tearDown() {
+        mongoTemplate.remove(post);
+    }
+
+    @Benchmark
+    public boolean toggleNewUser() {
+        return postService.likePost(post.getId(), "new-user");
+    }
+
+    // Worst case for a list: the user sits at the end of the likes array
+    @Benchmark
+    public boolean toggleExistingUser() {
+        return postService.likePost(post.getId(), String.valueOf(1000 + likes - 1));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.demo.benchmarks;
+
+import com.example.demo.util.MediaValidator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.concurrent.TimeUnit;
+
+// Validation of a typical createPost payload: several images plus one video
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MediaValidatorBenchmark {
+
+    @Param({"1", "4"})
+    public int images;
+
+    private MediaValidator validator;
+    private MultipartFile[] imageFiles;
+    private MultipartFile video;
+
+    @Setup
+    public void setUp() {
+        validator = new MediaValidator();
+        imageFiles = new MultipartFile[images];
+        for (int i = 0; i < images; i++) {
+            imageFiles[i] = new MockMultipartFile("images", "photo" + i + ".jpg", "image/jpeg", new byte[64 * 1024]);
+        }
+        video = new MockMultipartFile("video", "clip.mp4", "video/mp4", new byte[256 * 1024]);
+    }
+
+    @Benchmark
+    public void validate(Blackhole blackhole) {
+        validator.validateMedia(imageFiles, video);
+        blackhole.consume(imageFiles);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.demo.benchmarks;
+
+import com.example.demo.model.Post;
+import com.example.demo.util.FieldSelection;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// JSON rendering of one feed page (GET /api/posts) as post size grows
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PostSerializationBenchmark {
+
+    @Param({"10"})
+    public int pageSize;
+
+    @Param({"0", "100", "10000"})
+    public int likes;
+
+    @Param({"0", "20", "200"})
+    public int comments;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter sparseWriter;
+    private List<Post> page;
+
+    @Setup
+    public void setUp() {
+        // Same settings Spring Boot applies to its auto-configured ObjectMapper
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .setFilterProvider(new SimpleFilterProvider()
+                        .addFilter(FieldSelection.FILTER_ID, SimpleBeanPropertyFilter.serializeAll()));
+        // What GET /api/posts?fields=text,creatorName,createdAt writes
+        sparseWriter = objectMapper.writer(new SimpleFilterProvider().addFilter(FieldSelection.FILTER_ID,
+                SimpleBeanPropertyFilter.filterOutAllExcept("id", "text", "creatorName", "createdAt")));
+        page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            page.add(Fixtures.post(likes, comments));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeFeedPage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    // Serialization side only; the endpoint also skips reading likes and comments from Mongo
+    @Benchmark
+    public byte[] serializeSparseFeedPage() throws Exception {
+        return sparseWriter.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.demo.benchmarks;
+
+import com.example.demo.util.CoOccurrenceRecommender;
+import com.example.demo.util.IntAdjacency;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+// End-to-end time of the "people you may know" computation on a synthetic graph shaped
+// like production: skewed category, title and post popularity. Covers building the
+// adjacency and scoring, not the Mongo reads and writes around them. Not a JMH suite.
+//
+//   java -Xmx4g -cp target/benchmarks.jar com.example.demo.benchmarks.RecommendationBenchmark \
+//       [users] [posts] [parallelism]
+public final class RecommendationBenchmark {
+
+    private static final int CATEGORIES = 40;
+    private static final int TOP_K = 20;
+    private static final int MAX_ITEM_USERS = 1000;
+
+    private RecommendationBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int users = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int posts = args.length > 1 ? Integer.parseInt(args[1]) : 2 * users;
+        int parallelism = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        int titles = Math.max(1, users / 10);
+
+        long started = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(42);
+        // Item ids: categories, then titles, then one like item and one comment item per post
+        int items = CATEGORIES + titles + 2 * posts;
+        float[] kindWeights = new float[items];
+        IntAdjacency.Builder edges = new IntAdjacency.Builder();
+        for (int user = 0; user < users; user++) {
+            int skills = 1 + random.nextInt(3);
+            for (int s = 0; s < skills; s++) {
+                edges.add(user, skewed(random, CATEGORIES));
+                edges.add(user, CATEGORIES + skewed(random, titles));
+            }
+        }
+        for (int post = 0; post < posts; post++) {
+            int likeItem = CATEGORIES + titles + 2 * post;
+            int likes = skewed(random, 200);
+            for (int l = 0; l < likes; l++) {
+                edges.add(random.nextInt(users), likeItem);
+            }
+            int comments = skewed(random, 20);
+            for (int c = 0; c < comments; c++) {
+                edges.add(random.nextInt(users), likeItem + 1);
+            }
+        }
+        for (int item = 0; item < items; item++) {
+            kindWeights[item] = item < CATEGORIES ? 0.5f
+                    : item < CATEGORIES + titles ? 2f
+                    : (item - CATEGORIES - titles) % 2 == 0 ? 1f : 1.5f;
+        }
+        long generated = System.nanoTime();
+
+        IntAdjacency userItems = edges.build(users);
+        CoOccurrenceRecommender recommender = new CoOccurrenceRecommender(userItems, kindWeights, TOP_K, MAX_ITEM_USERS);
+        long built = System.nanoTime();
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        CoOccurrenceRecommender.Result result;
+        try {
+            result = recommender.run(pool);
+        } finally {
+            pool.shutdown();
+        }
+        long scored = System.nanoTime();
+
+        long filled = 0;
+        for (int user : result.users()) {
+            if (user >= 0) {
+                filled++;
+            }
+        }
+        System.out.printf("users=%d posts=%d edges=%d parallelism=%d%n", users, posts, userItems.targets().length, parallelism);
+        System.out.printf("generate %6d ms%nbuild    %6d ms%nscore    %6d ms%n",
+                (generated - started) / 1_000_000, (built - generated) / 1_000_000, (scored - built) / 1_000_000);
+        System.out.printf("recommendations per user: %.1f of %d%n", (double) filled / users, TOP_K);
+    }
+
+    // Roughly Zipf-distributed value in [0, bound): a few values are very common
+    private static int skewed(SplittableRandom random, int bound) {
+        return (int) Math.min(bound - 1, Math.floor(Math.pow(bound + 1, random.nextDouble()) - 1));
+    }
+}
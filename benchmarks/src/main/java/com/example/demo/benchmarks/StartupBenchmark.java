@@ -0,0 +1,172 @@
+package com.example.demo.benchmarks;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarFile;
+
+// Cold-start benchmark for the packaged application: launches the app in each startup
+// mode, measures the time until the first HTTP request is answered and the resident set
+// size at that moment. Not a JMH suite; it only needs a JDK and the extracted app
+// produced by backend/fast-start.sh build.
+//
+//   java -cp target/benchmarks.jar com.example.demo.benchmarks.StartupBenchmark \
+//       ../backend/target/fast-start [runs] [path]
+public final class StartupBenchmark {
+
+    private static final String AOT_INITIALIZER = "com/example/demo/SkillhiveApplication__ApplicationContextInitializer.class";
+    private static final Duration START_TIMEOUT = Duration.ofMinutes(2);
+
+    private final Path appDir;
+    private final Path appJar;
+    private final String path;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    private StartupBenchmark(Path appDir, String path) throws IOException {
+        this.appDir = appDir;
+        this.path = path;
+        try (var jars = Files.list(appDir)) {
+            this.appJar = jars.filter(p -> p.getFileName().toString().endsWith(".jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("No application jar in " + appDir));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("usage: StartupBenchmark <extracted-app-dir> [runs] [path]");
+            System.exit(2);
+        }
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        String path = args.length > 2 ? args[2] : "/actuator/health";
+        new StartupBenchmark(Path.of(args[0]), path).run(runs);
+    }
+
+    private void run(int runs) throws Exception {
+        List<Mode> modes = new ArrayList<>();
+        modes.add(new Mode("default", List.of(), List.of()));
+        modes.add(new Mode("prod", List.of(), List.of("--spring.profiles.active=prod")));
+        if (hasAotInitializer()) {
+            modes.add(new Mode("prod+aot", List.of("-Dspring.aot.enabled=true"), List.of("--spring.profiles.active=prod")));
+            Path archive = appDir.resolve("app.jsa");
+            if (Files.exists(archive)) {
+                modes.add(new Mode("prod+aot+cds",
+                        List.of("-XX:SharedArchiveFile=" + archive, "-Dspring.aot.enabled=true"),
+                        List.of("--spring.profiles.active=prod")));
+            }
+        } else {
+            System.out.println("Jar was not built with -Paot, skipping the AOT and CDS modes");
+        }
+
+        System.out.printf("%-14s %10s %10s %10s %10s%n", "mode", "ttfr p50", "ttfr min", "rss p50", "rss max");
+        for (Mode mode : modes) {
+            List<Long> ttfrMillis = new ArrayList<>();
+            List<Long> rssKb = new ArrayList<>();
+            for (int i = 0; i < runs; i++) {
+                Sample sample = launch(mode);
+                ttfrMillis.add(sample.ttfrMillis());
+                if (sample.rssKb() >= 0) {
+                    rssKb.add(sample.rssKb());
+                }
+            }
+            Collections.sort(ttfrMillis);
+            Collections.sort(rssKb);
+            System.out.printf("%-14s %8d ms %8d ms %10s %10s%n", mode.name(),
+                    ttfrMillis.get(ttfrMillis.size() / 2), ttfrMillis.get(0),
+                    rssKb.isEmpty() ? "n/a" : rssKb.get(rssKb.size() / 2) / 1024 + " MB",
+                    rssKb.isEmpty() ? "n/a" : rssKb.get(rssKb.size() - 1) / 1024 + " MB");
+        }
+    }
+
+    private Sample launch(Mode mode) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(mode.jvmArgs());
+        command.add("-jar");
+        command.add(appJar.toString());
+        command.add("--server.port=" + port);
+        command.addAll(mode.appArgs());
+
+        Path log = Files.createTempFile("skillhive-startup-" + mode.name(), ".log");
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(appDir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .build();
+            long deadline = start + START_TIMEOUT.toNanos();
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode.name() + " exited with " + process.exitValue() + ", see " + log);
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException(mode.name() + " did not answer within " + START_TIMEOUT + ", see " + log);
+                }
+                try {
+                    // Any status counts: the server has accepted and answered a request
+                    httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                    break;
+                } catch (IOException e) {
+                    Thread.sleep(10);
+                }
+            }
+            long ttfrMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            Files.deleteIfExists(log);
+            return new Sample(ttfrMillis, residentSetKb(process.pid()));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private boolean hasAotInitializer() throws IOException {
+        try (JarFile jar = new JarFile(appJar.toFile())) {
+            return jar.getEntry("BOOT-INF/classes/" + AOT_INITIALIZER) != null || jar.getEntry(AOT_INITIALIZER) != null;
+        }
+    }
+
+    // VmRSS from /proc; -1 where procfs is not available
+    private static long residentSetKb(long pid) throws IOException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        for (String line : Files.readAllLines(status)) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("[^0-9]", ""));
+            }
+        }
+        return -1;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Mode(String name, List<String> jvmArgs, List<String> appArgs) {
+    }
+
+    private record Sample(long ttfrMillis, long rssKb) {
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.demo.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+
+// Writing an upload to the upload directory: buffering the whole part in the heap via getBytes()
+// (what PostService does today) versus streaming it from the multipart temp file.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx512m")
+@State(Scope.Benchmark)
+public class UploadWriteBenchmark {
+
+    @Param({"65536", "1048576", "10485760"})
+    public int size;
+
+    private Path workDir;
+    private MultipartFile upload;
+    private Path target;
+
+    @Setup
+    public void setUp() throws IOException {
+        workDir = Files.createTempDirectory("skillhive-upload-bench");
+        Path part = workDir.resolve("part.tmp");
+        byte[] content = new byte[size];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        Files.write(part, content);
+        // Servlet containers spool large parts to disk, so read from a real file
+        upload = new FileBackedMultipartFile(part, "image/jpeg");
+        target = workDir.resolve("upload.bin");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(target);
+        Files.deleteIfExists(workDir.resolve("part.tmp"));
+        Files.deleteIfExists(workDir);
+    }
+
+    @Benchmark
+    public Path getBytes() throws IOException {
+        return Files.write(target, upload.getBytes());
+    }
+
+    @Benchmark
+    public long streaming() throws IOException {
+        try (InputStream in = upload.getInputStream()) {
+            return Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Benchmark
+    public Path transferTo() throws IOException {
+        upload.transferTo(target);
+        return target;
+    }
+
+    private static final class FileBackedMultipartFile implements MultipartFile {
+        private final Path path;
+        private final String contentType;
+
+        FileBackedMultipartFile(Path path, String contentType) {
+            this.path = path;
+            this.contentType = contentType;
+        }
+
+        @Override
+        public String getName() {
+            return "file";
+        }
+
+        @Override
+        public String getOriginalFilename() {
+            return path.getFileName().toString();
+        }
+
+        @Override
+        public String getContentType() {
+            return contentType;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return getSize() == 0;
+        }
+
+        @Override
+        public long getSize() {
+            try {
+                return Files.size(path);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public byte[] getBytes() throws IOException {
+            return Files.readAllBytes(path);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(path);
+        }
+
+        @Override
+        public void transferTo(java.io.File dest) throws IOException {
+            transferTo(dest.toPath());
+        }
+
+        @Override
+        public void transferTo(Path dest) throws IOException {
+            Files.copy(path, dest, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 import { useState, useEffect } from 'react';
 import { Link, useNavigate, useLocation } from 'react-router-dom';
 import { Menu, X, User, LogOut, Home, LayoutDashboard, ChevronDown } from 'lucide-react';
+import api from '../services/api';
 
 function Navbar() {
   const navigate = useNavigate();
@@ -31,7 +32,12 @@ function Navbar() {
   }, [location.pathname]);
 
   const handleLogout = () => {
+    // Revoke the session server-side; the local tokens are dropped either way
+    api.post('/auth/logout', { refreshToken: localStorage.getItem('refreshToken') }, {
+      headers: { Authorization: `Bearer ${token}` },
+    }).catch(() => {});
     localStorage.removeItem('token');
+    localStorage.removeItem('refreshToken');
     navigate('/login');
     setProfileDropdownOpen(false);
   };
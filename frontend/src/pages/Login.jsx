@@ -19,6 +19,7 @@ function Login() {
     try {
       const response = await api.post('/auth/login', formData);
       localStorage.setItem('token', response.data.token);
+      localStorage.setItem('refreshToken', response.data.refreshToken);
       navigate('/dashboard');
     } catch (err) {
       setError('Invalid credentials');
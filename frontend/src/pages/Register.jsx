@@ -1,4 +1,4 @@
-import { useState } from 'react';
+import { useState, useEffect } from 'react';
 import { useNavigate } from 'react-router-dom';
 import api from '../services/api';
 
@@ -10,8 +10,29 @@ function Register() {
     role: 'USER'
   });
   const [error, setError] = useState('');
+  const [taken, setTaken] = useState({ username: false, email: false });
   const navigate = useNavigate();
 
+  // Check availability once typing pauses; the server answers most checks from memory
+  useEffect(() => {
+    const { username, email } = formData;
+    if (!username && !email) {
+      setTaken({ username: false, email: false });
+      return undefined;
+    }
+    const timer = setTimeout(async () => {
+      try {
+        const response = await api.get('/auth/availability', {
+          params: { username: username || undefined, email: email || undefined },
+        });
+        setTaken({ username: response.data.username === false, email: response.data.email === false });
+      } catch {
+        // Advisory only; registration still reports conflicts
+      }
+    }, 300);
+    return () => clearTimeout(timer);
+  }, [formData.username, formData.email]);
+
   const handleChange = (e) => {
     setFormData({ ...formData, [e.target.name]: e.target.value });
   };
@@ -23,7 +44,7 @@ function Register() {
       localStorage.setItem('token', response.data.token);
       navigate('/dashboard');
     } catch (err) {
-      setError('Registration failed');
+      setError(err.response?.status === 409 ? err.response.data.message : 'Registration failed');
     }
   };
 
@@ -66,6 +87,7 @@ function Register() {
                   </svg>
                 </div>
               </div>
+              {taken.username && <p className="mt-1 text-sm text-red-600">This username is already taken</p>}
             </div>
             
             <div className="group">
@@ -90,6 +112,7 @@ function Register() {
                   </svg>
                 </div>
               </div>
+              {taken.email && <p className="mt-1 text-sm text-red-600">An account with this email already exists</p>}
             </div>
             
             <div className="group">
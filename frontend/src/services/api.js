@@ -7,4 +7,38 @@ const api = axios.create({
   },
 });
 
-export default api;
\ No newline at end of file
+// Access tokens live 15 minutes. On a 401, swap the refresh token for a new pair and retry once.
+// Only one refresh runs at a time: presenting a spent refresh token ends the whole session.
+let refreshing = null;
+
+api.interceptors.response.use(
+  (response) => response,
+  async (error) => {
+    const original = error.config;
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (error.response?.status !== 401 || !refreshToken || !original || original._retried || original.url?.startsWith('/auth/')) {
+      return Promise.reject(error);
+    }
+    original._retried = true;
+    refreshing = refreshing || api.post('/auth/refresh', { refreshToken })
+      .then(({ data }) => {
+        localStorage.setItem('token', data.token);
+        localStorage.setItem('refreshToken', data.refreshToken);
+        return data.token;
+      })
+      .finally(() => {
+        refreshing = null;
+      });
+    try {
+      const token = await refreshing;
+      original.headers.Authorization = `Bearer ${token}`;
+      return api(original);
+    } catch {
+      localStorage.removeItem('token');
+      localStorage.removeItem('refreshToken');
+      return Promise.reject(error);
+    }
+  }
+);
+
+export default api;
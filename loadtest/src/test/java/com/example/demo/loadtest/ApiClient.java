@@ -0,0 +1,214 @@
+package com.example.demo.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Issues the REST calls behind each Scenario on behalf of a pool of registered users
+final class ApiClient {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    // The server only checks the declared content type, so a zeroed buffer is a valid upload
+    private static final byte[] IMAGE = new byte[16 * 1024];
+
+    private final String baseUrl;
+    private final HttpClient http;
+    private final List<TestUser> users = new ArrayList<>();
+    private final List<String> postIds = Collections.synchronizedList(new ArrayList<>());
+
+    ApiClient(String baseUrl, ExecutorService executor) {
+        this.baseUrl = baseUrl;
+        this.http = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    // Registers and logs in every user, then seeds posts so reads have data to hit
+    void prepare(int userCount, int postCount) throws IOException, InterruptedException {
+        String runId = UUID.randomUUID().toString().substring(0, 8);
+        for (int i = 0; i < userCount; i++) {
+            TestUser user = new TestUser("lt" + runId + "u" + i, "lt" + runId + "u" + i + "@loadtest.local", "Passw0rd!" + i);
+            expectOk(http.send(json("/auth/register", Map.of(
+                    "username", user.username, "email", user.email, "password", user.password)).build(),
+                    HttpResponse.BodyHandlers.ofString()), "register");
+            HttpResponse<String> login = http.send(loginRequest(user), HttpResponse.BodyHandlers.ofString());
+            expectOk(login, "login");
+            user.token = MAPPER.readTree(login.body()).path("token").asText();
+            HttpResponse<String> profile = http.send(authorized(user, "/user/profile").GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            expectOk(profile, "profile");
+            user.id = MAPPER.readTree(profile.body()).path("id").asText();
+            users.add(user);
+        }
+        for (int i = 0; i < postCount; i++) {
+            HttpResponse<byte[]> created = http.send(uploadRequest(randomUser()), HttpResponse.BodyHandlers.ofByteArray());
+            expectOk(created, "seed post");
+            rememberPost(created.body());
+        }
+    }
+
+    CompletableFuture<Integer> execute(Scenario scenario) {
+        TestUser user = randomUser();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (scenario) {
+            case FEED: {
+                int pages = Math.max(1, postIds.size() / 10);
+                return send(authorized(user, "/api/posts?page=" + random.nextInt(pages) + "&size=10").GET().build());
+            }
+            case LIKE:
+                return send(authorized(user, "/api/posts/" + randomPost() + "/like?userId=" + user.id)
+                        .POST(HttpRequest.BodyPublishers.noBody()).build());
+            case COMMENT:
+                return send(authorized(user, "/api/posts/" + randomPost() + "/comments")
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .POST(form(Map.of("text", "Load test comment " + random.nextInt(1_000_000),
+                                "creatorId", user.id, "creatorName", user.username)))
+                        .build());
+            case UPLOAD:
+                return http.sendAsync(uploadRequest(user), HttpResponse.BodyHandlers.ofByteArray())
+                        .thenApply(response -> {
+                            if (response.statusCode() / 100 == 2) {
+                                rememberPost(response.body());
+                            }
+                            return response.statusCode();
+                        });
+            case LOGIN:
+                return send(loginRequest(user));
+            case POLL:
+                return send(authorized(user, "/api/post-interactions").GET().build());
+            default:
+                throw new IllegalStateException("Unhandled scenario " + scenario);
+        }
+    }
+
+    private CompletableFuture<Integer> send(HttpRequest request) {
+        return http.sendAsync(request, HttpResponse.BodyHandlers.discarding()).thenApply(HttpResponse::statusCode);
+    }
+
+    private HttpRequest loginRequest(TestUser user) {
+        return json("/auth/login", Map.of("email", user.email, "password", user.password)).build();
+    }
+
+    private HttpRequest uploadRequest(TestUser user) {
+        String boundary = "----skillhive" + UUID.randomUUID();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(IMAGE.length + 1024);
+        writePart(body, boundary, "text", null, null, ("Load test post #loadtest " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8));
+        writePart(body, boundary, "creatorId", null, null, user.id.getBytes(StandardCharsets.UTF_8));
+        writePart(body, boundary, "creatorName", null, null, user.username.getBytes(StandardCharsets.UTF_8));
+        writePart(body, boundary, "images", "photo.jpg", "image/jpeg", IMAGE);
+        body.writeBytes(("--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return authorized(user, "/api/posts")
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+    }
+
+    private static void writePart(ByteArrayOutputStream out, String boundary, String name, String filename,
+                                  String contentType, byte[] content) {
+        StringBuilder header = new StringBuilder("--").append(boundary).append("\r\n")
+                .append("Content-Disposition: form-data; name=\"").append(name).append('"');
+        if (filename != null) {
+            header.append("; filename=\"").append(filename).append('"');
+        }
+        header.append("\r\n");
+        if (contentType != null) {
+            header.append("Content-Type: ").append(contentType).append("\r\n");
+        }
+        header.append("\r\n");
+        out.writeBytes(header.toString().getBytes(StandardCharsets.UTF_8));
+        out.writeBytes(content);
+        out.writeBytes("\r\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private HttpRequest.Builder json(String path, Map<String, String> payload) {
+        try {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(payload)));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest.Builder authorized(TestUser user, String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Authorization", "Bearer " + user.token);
+    }
+
+    private static HttpRequest.BodyPublisher form(Map<String, String> fields) {
+        StringBuilder encoded = new StringBuilder();
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            if (encoded.length() > 0) {
+                encoded.append('&');
+            }
+            encoded.append(URLEncoder.encode(field.getKey(), StandardCharsets.UTF_8))
+                    .append('=')
+                    .append(URLEncoder.encode(field.getValue(), StandardCharsets.UTF_8));
+        }
+        return HttpRequest.BodyPublishers.ofString(encoded.toString());
+    }
+
+    private void rememberPost(byte[] body) {
+        try {
+            JsonNode post = MAPPER.readTree(body);
+            String id = post.path("id").asText(null);
+            if (id != null) {
+                postIds.add(id);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable createPost response", e);
+        }
+    }
+
+    private TestUser randomUser() {
+        return users.get(ThreadLocalRandom.current().nextInt(users.size()));
+    }
+
+    private String randomPost() {
+        synchronized (postIds) {
+            return postIds.get(ThreadLocalRandom.current().nextInt(postIds.size()));
+        }
+    }
+
+    private static void expectOk(HttpResponse<?> response, String step) {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(step + " failed with HTTP " + response.statusCode() + ": " + response.body());
+        }
+    }
+
+    private static final class TestUser {
+        final String username;
+        final String email;
+        final String password;
+        volatile String token;
+        volatile String id;
+
+        TestUser(String username, String email, String password) {
+            this.username = username;
+            this.email = email;
+            this.password = password;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.demo.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Entry point: mvn test -Dloadtest.rate=... (see README.md for all settings)
+class ApiLoadTest {
+
+    @Test
+    void replayScenarioMix() throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        System.out.println("Load test: " + config);
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try (LocalStack stack = LocalStack.start(config)) {
+            ApiClient client = new ApiClient(stack.baseUrl(), executor);
+            client.prepare(config.users, config.posts);
+
+            OpenLoopDriver driver = new OpenLoopDriver(client, config);
+            LatencyReport report = driver.run();
+
+            double seconds = config.duration.toMillis() / 1000.0;
+            String header = "Load test: " + config + ", peak in-flight=" + driver.peakInFlight();
+            System.out.println(header);
+            report.print(System.out, seconds);
+            report.write(config.reportDir, header, seconds);
+            assertTrue(report.totalCount() > 0, "No requests were measured");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.demo.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Compares how many blocking requests the server keeps in flight with the default
+// Tomcat platform-thread pool versus the vthreads profile.
+// Run with: mvn test -Dtest=ConcurrencyCeilingTest [-Dloadtest.ceiling.requests=2000]
+class ConcurrencyCeilingTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    void compareMaxInFlightRequests() throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        int requests = Integer.getInteger("loadtest.ceiling.requests", 1000);
+        long delayMillis = Long.getLong("loadtest.ceiling.delayMs", 500L);
+
+        Result platform = measure(config, requests, delayMillis, "--spring.profiles.active=loadtest-slow-io");
+        Result virtual = measure(config, requests, delayMillis, "--spring.profiles.active=loadtest-slow-io,vthreads");
+
+        System.out.printf("%-10s %10s %10s %12s%n", "mode", "peak", "elapsed s", "req/s");
+        System.out.printf("%-10s %10d %10.2f %12.1f%n", "platform", platform.peak, platform.seconds, requests / platform.seconds);
+        System.out.printf("%-10s %10d %10.2f %12.1f%n", "virtual", virtual.peak, virtual.seconds, requests / virtual.seconds);
+        assertEquals(requests, platform.succeeded, "platform mode dropped requests");
+        assertEquals(requests, virtual.succeeded, "virtual mode dropped requests");
+    }
+
+    private Result measure(LoadTestConfig config, int requests, long delayMillis, String profileArg) throws Exception {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try (LocalStack stack = LocalStack.start(config, profileArg)) {
+            HttpClient http = HttpClient.newBuilder()
+                    .executor(executor)
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .build();
+            URI slow = URI.create(stack.baseUrl() + "/loadtest/slow-io?millis=" + delayMillis);
+            long start = System.nanoTime();
+            List<CompletableFuture<HttpResponse<Void>>> calls = new ArrayList<>(requests);
+            for (int i = 0; i < requests; i++) {
+                calls.add(http.sendAsync(HttpRequest.newBuilder(slow).timeout(Duration.ofMinutes(2)).build(),
+                        HttpResponse.BodyHandlers.discarding()));
+            }
+            int succeeded = 0;
+            for (CompletableFuture<HttpResponse<Void>> call : calls) {
+                if (call.join().statusCode() == 200) {
+                    succeeded++;
+                }
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            HttpResponse<String> peak = http.send(HttpRequest.newBuilder(URI.create(stack.baseUrl() + "/loadtest/slow-io/peak")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            return new Result(MAPPER.readTree(peak.body()).path("peak").asInt(), seconds, succeeded);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private record Result(int peak, double seconds, int succeeded) {
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.demo.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Per-scenario latency histograms (in nanoseconds, measured from the intended start)
+final class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE = TimeUnit.MINUTES.toNanos(2);
+
+    private final Map<Scenario, Histogram> histograms = new EnumMap<>(Scenario.class);
+    private final Map<Scenario, LongAdder> errors = new EnumMap<>(Scenario.class);
+
+    LatencyReport() {
+        for (Scenario scenario : Scenario.values()) {
+            histograms.put(scenario, new ConcurrentHistogram(HIGHEST_TRACKABLE, 3));
+            errors.put(scenario, new LongAdder());
+        }
+    }
+
+    void record(Scenario scenario, long latencyNanos, boolean success) {
+        histograms.get(scenario).recordValue(Math.min(latencyNanos, HIGHEST_TRACKABLE));
+        if (!success) {
+            errors.get(scenario).increment();
+        }
+    }
+
+    long totalCount() {
+        long total = 0;
+        for (Histogram histogram : histograms.values()) {
+            total += histogram.getTotalCount();
+        }
+        return total;
+    }
+
+    long totalErrors() {
+        long total = 0;
+        for (LongAdder adder : errors.values()) {
+            total += adder.sum();
+        }
+        return total;
+    }
+
+    void print(PrintStream out, double measuredSeconds) {
+        out.printf("%-10s %9s %7s %10s %9s %9s %9s %9s %9s%n",
+                "scenario", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<Scenario, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            out.printf("%-10s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey().key(),
+                    histogram.getTotalCount(),
+                    errors.get(entry.getKey()).sum(),
+                    histogram.getTotalCount() / measuredSeconds,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }
+        out.printf("total: %d requests, %d errors, %.1f req/s%n", totalCount(), totalErrors(), totalCount() / measuredSeconds);
+    }
+
+    // Writes report.txt plus one .hgrm percentile distribution per scenario
+    void write(Path dir, String header, double measuredSeconds) throws IOException {
+        Files.createDirectories(dir);
+        try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve("report.txt")))) {
+            out.println(header);
+            print(out, measuredSeconds);
+        }
+        for (Map.Entry<Scenario, Histogram> entry : histograms.entrySet()) {
+            if (entry.getValue().getTotalCount() == 0) {
+                continue;
+            }
+            try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(entry.getKey().key() + ".hgrm")))) {
+                // Scale nanoseconds to milliseconds in the distribution output
+                entry.getValue().outputPercentileDistribution(out, 1_000_000.0);
+            }
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
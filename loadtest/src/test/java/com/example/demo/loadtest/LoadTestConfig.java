@@ -0,0 +1,59 @@
+package com.example.demo.loadtest;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Harness settings, read from -Dloadtest.* system properties
+final class LoadTestConfig {
+
+    final int rate;
+    final Duration duration;
+    final Duration warmup;
+    final int users;
+    final int posts;
+    final Map<Scenario, Integer> mix;
+    final String mongoUri;
+    final Path reportDir;
+
+    private LoadTestConfig() {
+        rate = Integer.getInteger("loadtest.rate", 200);
+        duration = Duration.ofSeconds(Long.getLong("loadtest.duration", 60L));
+        warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup", 10L));
+        users = Integer.getInteger("loadtest.users", 50);
+        posts = Integer.getInteger("loadtest.posts", 200);
+        mix = parseMix(System.getProperty("loadtest.mix", "feed:45,like:15,comment:10,upload:5,login:10,poll:15"));
+        mongoUri = System.getProperty("loadtest.mongo.uri");
+        reportDir = Paths.get(System.getProperty("loadtest.reportDir", "target/loadtest"));
+    }
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig();
+    }
+
+    private static Map<Scenario, Integer> parseMix(String spec) {
+        Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid loadtest.mix entry: " + part);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                weights.put(Scenario.fromKey(pair[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix selects no scenarios");
+        }
+        return weights;
+    }
+
+    @Override
+    public String toString() {
+        return "rate=" + rate + "/s, duration=" + duration.toSeconds() + "s, warmup=" + warmup.toSeconds()
+                + "s, users=" + users + ", posts=" + posts + ", mix=" + mix;
+    }
+}
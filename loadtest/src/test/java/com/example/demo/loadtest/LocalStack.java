@@ -0,0 +1,86 @@
+package com.example.demo.loadtest;
+
+import com.example.demo.SkillhiveApplication;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// Boots the application against local stand-ins: H2 in MySQL mode for JPA and an
+// embedded (or externally launched) MongoDB for the document store.
+final class LocalStack implements AutoCloseable {
+
+    private final TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+    private final ConfigurableApplicationContext context;
+    private final Path uploadDir;
+
+    private LocalStack(TransitionWalker.ReachedState<RunningMongodProcess> mongod,
+                       ConfigurableApplicationContext context, Path uploadDir) {
+        this.mongod = mongod;
+        this.context = context;
+        this.uploadDir = uploadDir;
+    }
+
+    static LocalStack start(LoadTestConfig config, String... extraArgs) throws IOException {
+        TransitionWalker.ReachedState<RunningMongodProcess> mongod = null;
+        String mongoUri = config.mongoUri;
+        if (mongoUri == null) {
+            mongod = Mongod.instance().start(Version.Main.V7_0);
+            mongoUri = "mongodb://" + mongod.current().getServerAddress() + "/skillhive";
+        }
+        Path uploadDir = Files.createTempDirectory("skillhive-loadtest-uploads");
+
+        // Command-line style arguments outrank application.properties inside the app jar
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:skillhive;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--spring.data.mongodb.uri=" + mongoUri,
+                "--file.upload-dir=" + uploadDir,
+                "--logging.level.root=WARN",
+                "--spring.devtools.restart.enabled=false"));
+        args.addAll(List.of(extraArgs));
+        ConfigurableApplicationContext context;
+        try {
+            context = SpringApplication.run(SkillhiveApplication.class, args.toArray(String[]::new));
+        } catch (RuntimeException e) {
+            if (mongod != null) {
+                mongod.close();
+            }
+            throw e;
+        }
+        return new LocalStack(mongod, context, uploadDir);
+    }
+
+    String baseUrl() {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        return "http://localhost:" + port;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            context.close();
+        } finally {
+            if (mongod != null) {
+                mongod.close();
+            }
+            try (var files = Files.walk(uploadDir)) {
+                files.sorted((a, b) -> b.getNameCount() - a.getNameCount()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+}
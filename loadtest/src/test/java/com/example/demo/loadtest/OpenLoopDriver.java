@@ -0,0 +1,89 @@
+package com.example.demo.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// Fires requests on a fixed schedule regardless of how fast responses come back.
+// Latency is taken from each request's intended start, which avoids coordinated
+// omission: if the server stalls, queued requests are charged the wait.
+final class OpenLoopDriver {
+
+    private final ApiClient client;
+    private final LoadTestConfig config;
+    private final Scenario[] wheel;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int peakInFlight;
+
+    OpenLoopDriver(ApiClient client, LoadTestConfig config) {
+        this.client = client;
+        this.config = config;
+        this.wheel = buildWheel(config.mix);
+    }
+
+    LatencyReport run() throws InterruptedException {
+        LatencyReport report = new LatencyReport();
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup.toNanos();
+        long end = measureFrom + config.duration.toNanos();
+        for (long n = 0; ; n++) {
+            long intended = start + n * 1_000_000_000L / config.rate;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Scenario scenario = wheel[ThreadLocalRandom.current().nextInt(wheel.length)];
+            boolean measured = intended >= measureFrom;
+            int current = inFlight.incrementAndGet();
+            if (current > peakInFlight) {
+                peakInFlight = current;
+            }
+            CompletableFuture<Integer> call;
+            try {
+                call = client.execute(scenario);
+            } catch (RuntimeException e) {
+                call = CompletableFuture.failedFuture(e);
+            }
+            call.whenComplete((status, error) -> {
+                if (measured) {
+                    boolean success = error == null && status != null && status / 100 == 2;
+                    report.record(scenario, System.nanoTime() - intended, success);
+                }
+                inFlight.decrementAndGet();
+            });
+        }
+        awaitDrain(Duration.ofSeconds(30));
+        return report;
+    }
+
+    int peakInFlight() {
+        return peakInFlight;
+    }
+
+    private void awaitDrain(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+    }
+
+    // Expands weights into a lookup table so picking a scenario is one random index
+    private static Scenario[] buildWheel(Map<Scenario, Integer> mix) {
+        List<Scenario> slots = new ArrayList<>();
+        for (Map.Entry<Scenario, Integer> entry : mix.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                slots.add(entry.getKey());
+            }
+        }
+        return slots.toArray(Scenario[]::new);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.demo.loadtest;
+
+import java.util.Locale;
+
+// User actions replayed by the harness; each maps to one REST call
+enum Scenario {
+    FEED,     // GET  /api/posts?page=..
+    LIKE,     // POST /api/posts/{id}/like
+    COMMENT,  // POST /api/posts/{id}/comments
+    UPLOAD,   // POST /api/posts (multipart with an image)
+    LOGIN,    // POST /auth/login
+    POLL;     // GET  /api/post-interactions
+
+    static Scenario fromKey(String key) {
+        return valueOf(key.toUpperCase(Locale.ROOT));
+    }
+
+    String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.demo.loadtest;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Test-only endpoint that blocks like a slow Mongo/MySQL call and tracks how many
+// requests the server is handling at once. Active only with the slow-io profile.
+@RestController
+@Profile("loadtest-slow-io")
+public class SlowIoController {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peak = new AtomicInteger();
+
+    @GetMapping("/loadtest/slow-io")
+    public Map<String, Object> slowIo(@RequestParam(defaultValue = "500") long millis) throws InterruptedException {
+        int current = inFlight.incrementAndGet();
+        peak.accumulateAndGet(current, Math::max);
+        try {
+            Thread.sleep(millis);
+            return Map.of("thread", Thread.currentThread().toString());
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    @GetMapping("/loadtest/slow-io/peak")
+    public Map<String, Integer> peak() {
+        return Map.of("peak", peak.getAndSet(0));
+    }
+
+    @Bean
+    @Order(0)
+    public SecurityFilterChain slowIoSecurity(HttpSecurity http) throws Exception {
+        return http.securityMatcher("/loadtest/**")
+                .csrf(csrf -> csrf.disable())
+                .authorizeHttpRequests(auth -> auth.anyRequest().permitAll())
+                .build();
+    }
+}